@@ -0,0 +1,86 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Book data files of different sizes shared by all benchmarks.
+ *
+ * A library of scale n contains the entries of the base file n times.
+ * Every copy after the first gets a numbered title suffix, so that all
+ * entries stay distinct and none is dropped as a duplicate.
+ */
+public final class BenchmarkLibraries {
+
+    /** System property overriding the base book data file. */
+    public static final String BASE_FILE_PROPERTY = "library.benchmark.base";
+    /** Base book data file used if the property is not set. */
+    public static final String DEFAULT_BASE_FILE = "data/books03.csv";
+
+    /** Not to be used. */
+    private BenchmarkLibraries() {
+        throw new UnsupportedOperationException("This constructor should never be used.");
+    }
+
+    /**
+     * Write a book data file of the given scale to a new temporary file.
+     *
+     * @param scale number of copies of the base file
+     * @return path of the temporary file, deleted on exit
+     * @throws IllegalArgumentException if the scale is not positive
+     * @throws UncheckedIOException if reading or writing a file fails
+     */
+    public static Path scaledLibrary(int scale) {
+        if (scale < 1) {
+            throw new IllegalArgumentException("Scale must be positive: " + scale);
+        }
+
+        Path base = Paths.get(System.getProperty(BASE_FILE_PROPERTY, DEFAULT_BASE_FILE));
+        try {
+            List<String> lines = Files.readAllLines(base, StandardCharsets.UTF_8);
+            Path scaled = Files.createTempFile("library-x" + scale + "-", ".csv");
+            scaled.toFile().deleteOnExit();
+            try (BufferedWriter writer = Files.newBufferedWriter(scaled, StandardCharsets.UTF_8)) {
+                writer.write(lines.get(0));
+                writer.newLine();
+                for (int copy = 0; copy < scale; copy++) {
+                    for (String line : lines.subList(1, lines.size())) {
+                        writeEntry(writer, line, copy);
+                    }
+                }
+            }
+            return scaled;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Creating library of scale " + scale + " failed", e);
+        }
+    }
+
+    /**
+     * Create a command output that discards everything written to it.
+     * @return discarding command output
+     */
+    public static CommandOutput discardingOutput() {
+        return new CommandOutput(Writer.nullWriter());
+    }
+
+    /** Write a single entry, adding the copy number to the title of later copies. */
+    private static void writeEntry(Writer writer, String line, int copy) throws IOException {
+        if (line.isBlank()) {
+            return;
+        }
+        if (copy == 0) {
+            writer.write(line);
+        } else {
+            int titleEnd = line.indexOf(',');
+            writer.write(line, 0, titleEnd);
+            writer.write(" #" + copy);
+            writer.write(line, titleEnd, line.length() - titleEnd);
+        }
+        writer.write('\n');
+    }
+}
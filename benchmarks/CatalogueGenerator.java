@@ -0,0 +1,341 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic book data files in the format read by the
+ * LibraryFileLoader.
+ *
+ * The output only depends on the settings and the seed, so the same
+ * file can be regenerated anywhere for benchmarks and scaling tests.
+ * Author frequencies follow a Zipf distribution, title lengths a log
+ * normal distribution. ISBNs are valid ISBN-10s, with leading zeros
+ * dropped as in the original data.
+ *
+ * Usage: CatalogueGenerator output.csv [--rows n] [--seed n]
+ * [--authors n] [--author-skew s] [--multi-author p]
+ * [--duplicates p] [--title-words mean]
+ */
+public class CatalogueGenerator {
+
+    /** Header line of a book data file. */
+    public static final String HEADER = "title,authors,average_rating,isbn,# num_pages";
+
+    /** Default number of entries. */
+    public static final long DEFAULT_ROWS = 1_000_000;
+    /** Default seed. */
+    public static final long DEFAULT_SEED = 42;
+    /** Default Zipf exponent of the author frequencies. */
+    public static final double DEFAULT_AUTHOR_SKEW = 1.0;
+    /** Default share of entries with more than one author. */
+    public static final double DEFAULT_MULTI_AUTHOR_SHARE = 0.3;
+    /** Default share of entries repeating an earlier entry. */
+    public static final double DEFAULT_DUPLICATE_RATE = 0.01;
+    /** Default mean number of words in a title. */
+    public static final double DEFAULT_TITLE_WORDS = 4.0;
+
+    /** Maximum number of authors of a multi-author entry. */
+    private static final int MAX_AUTHORS_PER_BOOK = 4;
+    /** Spread of the log normal title length distribution. */
+    private static final double TITLE_WORDS_SIGMA = 0.5;
+    /** Longest title in words. */
+    private static final int MAX_TITLE_WORDS = 30;
+    /** Number of recent entries duplicates are drawn from. */
+    private static final int DUPLICATE_WINDOW = 4096;
+    /** Size of the output buffer in characters. */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /** Syllables for generated words and names. */
+    private static final String[] SYLLABLES = {
+        "ka", "lo", "mi", "ran", "te", "vo", "sel", "dar", "ni", "bru",
+        "fa", "gon", "he", "ist", "jul", "mar", "no", "pe", "qui", "ros",
+        "sa", "tor", "ul", "ven", "wil", "xa", "yor", "ze", "ber", "cha"
+    };
+    /** Frequent title words, drawn more often than generated words. */
+    private static final String[] COMMON_WORDS = {
+        "The", "of", "and", "A", "in", "to", "Night", "House", "Secret", "Life",
+        "World", "History", "Love", "Last", "War", "Book", "Story", "Time", "Girl", "King"
+    };
+    /** Number of distinct generated title words. */
+    private static final int TITLE_VOCABULARY = 50_000;
+
+    private final long seed;
+    private final int authors;
+    private final double authorSkew;
+    private final double multiAuthorShare;
+    private final double duplicateRate;
+    private final double meanTitleWords;
+
+    /**
+     * Create a generator with the given settings.
+     *
+     * @param seed seed of the random numbers
+     * @param authors number of distinct authors
+     * @param authorSkew Zipf exponent of the author frequencies, 0 for uniform
+     * @param multiAuthorShare share of entries with more than one author
+     * @param duplicateRate share of entries repeating a recent entry
+     * @param meanTitleWords mean number of words in a title
+     * @throws IllegalArgumentException if a setting is out of range
+     */
+    public CatalogueGenerator(long seed, int authors, double authorSkew, double multiAuthorShare,
+                              double duplicateRate, double meanTitleWords) {
+        if (authors < 1) {
+            throw new IllegalArgumentException("Number of authors must be positive: " + authors);
+        } else if (authorSkew < 0) {
+            throw new IllegalArgumentException("Author skew must not be negative: " + authorSkew);
+        } else if (!isShare(multiAuthorShare) || !isShare(duplicateRate)) {
+            throw new IllegalArgumentException("Shares must be between 0 and 1.");
+        } else if (meanTitleWords < 1 || meanTitleWords > MAX_TITLE_WORDS) {
+            throw new IllegalArgumentException("Mean title words must be between 1 and " + MAX_TITLE_WORDS);
+        }
+        this.seed = seed;
+        this.authors = authors;
+        this.authorSkew = authorSkew;
+        this.multiAuthorShare = multiAuthorShare;
+        this.duplicateRate = duplicateRate;
+        this.meanTitleWords = meanTitleWords;
+    }
+
+    /**
+     * Write a book data file with the given number of entries.
+     *
+     * @param file path of the file, replaced if it exists
+     * @param rows number of entries
+     * @throws IOException if writing the file fails
+     * @throws IllegalArgumentException if rows is negative
+     */
+    public void write(Path file, long rows) throws IOException {
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            write(writer, rows);
+        }
+    }
+
+    /**
+     * Write a book data file with the given number of entries.
+     *
+     * @param writer destination of the book data
+     * @param rows number of entries
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if rows is negative
+     */
+    public void write(Writer writer, long rows) throws IOException {
+        if (rows < 0) {
+            throw new IllegalArgumentException("Number of rows must not be negative: " + rows);
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] authorCdf = zipfCdf(authors, authorSkew);
+        String[] recent = new String[DUPLICATE_WINDOW];
+        StringBuilder line = new StringBuilder(256);
+
+        writer.write(HEADER);
+        writer.write('\n');
+        for (long row = 0; row < rows; row++) {
+            if (row > 0 && random.nextDouble() < duplicateRate) {
+                String duplicate = recent[random.nextInt((int) Math.min(row, DUPLICATE_WINDOW))];
+                writer.write(duplicate);
+                writer.write('\n');
+                continue;
+            }
+
+            line.setLength(0);
+            appendTitle(line, random);
+            line.append(',');
+            appendAuthors(line, random, authorCdf);
+            line.append(',');
+            appendRating(line, random);
+            line.append(',');
+            appendIsbn(line, row);
+            line.append(',').append(pages(random));
+
+            String entry = line.toString();
+            recent[(int) (row % DUPLICATE_WINDOW)] = entry;
+            writer.write(entry);
+            writer.write('\n');
+        }
+    }
+
+    /** Append a title of log normally distributed length. */
+    private void appendTitle(StringBuilder line, SplittableRandom random) {
+        double mu = Math.log(meanTitleWords) - TITLE_WORDS_SIGMA * TITLE_WORDS_SIGMA / 2;
+        long words = Math.round(Math.exp(mu + TITLE_WORDS_SIGMA * gaussian(random)));
+        words = Math.max(1, Math.min(MAX_TITLE_WORDS, words));
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                line.append(' ');
+            }
+            if (random.nextInt(3) == 0) {
+                line.append(COMMON_WORDS[random.nextInt(COMMON_WORDS.length)]);
+            } else {
+                appendWord(line, random.nextInt(TITLE_VOCABULARY), true);
+            }
+        }
+    }
+
+    /** Append one or more distinct authors separated by '-'. */
+    private void appendAuthors(StringBuilder line, SplittableRandom random, double[] authorCdf) {
+        int count = 1;
+        if (random.nextDouble() < multiAuthorShare) {
+            count = Math.min(authors, 2 + random.nextInt(MAX_AUTHORS_PER_BOOK - 1));
+        }
+        int[] chosen = new int[count];
+        for (int i = 0; i < count; i++) {
+            int author;
+            do {
+                author = sample(authorCdf, random);
+            } while (contains(chosen, i, author));
+            chosen[i] = author;
+            if (i > 0) {
+                line.append('-');
+            }
+            appendAuthorName(line, author);
+        }
+    }
+
+    /** Append a rating between 0 and 5 with two decimals, clustered around 4. */
+    private static void appendRating(StringBuilder line, SplittableRandom random) {
+        double rating = 3.9 + 0.35 * gaussian(random);
+        int hundredths = (int) Math.round(Math.max(0, Math.min(5, rating)) * 100);
+        line.append(hundredths / 100).append('.');
+        int fraction = hundredths % 100;
+        if (fraction < 10) {
+            line.append('0');
+        }
+        line.append(fraction);
+    }
+
+    /**
+     * Append a valid ISBN-10 unique to the given row, with leading zeros
+     * dropped.
+     */
+    private void appendIsbn(StringBuilder line, long row) {
+        // an odd multiplier permutes the 9 digit numbers, so rows get distinct ISBNs
+        long digits = Math.floorMod((row + seed) * 387_420_489L + 123_456_789L, 1_000_000_000L);
+        int sum = 0;
+        long rest = digits;
+        for (int weight = 2; weight <= 10; weight++) {
+            sum += weight * (int) (rest % 10);
+            rest /= 10;
+        }
+        int check = (11 - sum % 11) % 11;
+        if (digits > 0) {
+            line.append(digits);
+        }
+        if (check == 10) {
+            line.append('X');
+        } else {
+            line.append(check);
+        }
+    }
+
+    /** Number of pages, log normally distributed around 300. */
+    private static int pages(SplittableRandom random) {
+        return (int) Math.min(5000, Math.round(Math.exp(5.6 + 0.5 * gaussian(random))));
+    }
+
+    /** Append the unique name of the given author. */
+    private static void appendAuthorName(StringBuilder line, int author) {
+        appendWord(line, (int) ((author * 2_654_435_761L) % 900), true);
+        line.append(' ');
+        appendWord(line, author, true);
+    }
+
+    /** Append the word encoding the given number in syllables. */
+    private static void appendWord(StringBuilder line, int number, boolean capitalised) {
+        int start = line.length();
+        int rest = number;
+        do {
+            line.append(SYLLABLES[rest % SYLLABLES.length]);
+            rest /= SYLLABLES.length;
+        } while (rest > 0);
+        if (capitalised) {
+            line.setCharAt(start, Character.toUpperCase(line.charAt(start)));
+        }
+    }
+
+    /** Cumulative Zipf distribution over the given number of ranks. */
+    private static double[] zipfCdf(int ranks, double exponent) {
+        double[] cdf = new double[ranks];
+        double total = 0;
+        for (int rank = 0; rank < ranks; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cdf[rank] = total;
+        }
+        for (int rank = 0; rank < ranks; rank++) {
+            cdf[rank] /= total;
+        }
+        return cdf;
+    }
+
+    /** Draw a rank from a cumulative distribution. */
+    private static int sample(double[] cdf, SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(cdf.length - 1, index >= 0 ? index : -index - 1);
+    }
+
+    /** Standard normal random number (Box-Muller). */
+    private static double gaussian(SplittableRandom random) {
+        double u = 1 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isShare(double value) {
+        return value >= 0 && value <= 1;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: CatalogueGenerator output.csv [--rows n] [--seed n] [--authors n]"
+                + " [--author-skew s] [--multi-author p] [--duplicates p] [--title-words mean]");
+            System.exit(1);
+        }
+
+        Path output = Paths.get(args[0]);
+        long rows = DEFAULT_ROWS;
+        long seed = DEFAULT_SEED;
+        int authors = -1;
+        double authorSkew = DEFAULT_AUTHOR_SKEW;
+        double multiAuthorShare = DEFAULT_MULTI_AUTHOR_SHARE;
+        double duplicateRate = DEFAULT_DUPLICATE_RATE;
+        double titleWords = DEFAULT_TITLE_WORDS;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--rows": rows = Long.parseLong(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--authors": authors = Integer.parseInt(value); break;
+                case "--author-skew": authorSkew = Double.parseDouble(value); break;
+                case "--multi-author": multiAuthorShare = Double.parseDouble(value); break;
+                case "--duplicates": duplicateRate = Double.parseDouble(value); break;
+                case "--title-words": titleWords = Double.parseDouble(value); break;
+                default:
+                    System.err.println("ERROR: Unknown argument: " + args[i]);
+                    System.exit(1);
+            }
+        }
+        if (authors < 0) {
+            // roughly ten books per author, as in the original data
+            authors = (int) Math.max(1000, Math.min(Integer.MAX_VALUE - 8, rows / 10));
+        }
+
+        new CatalogueGenerator(seed, authors, authorSkew, multiAuthorShare, duplicateRate, titleWords)
+            .write(output, rows);
+    }
+}
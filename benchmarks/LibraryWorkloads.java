@@ -0,0 +1,146 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import librarybench.LibraryWorkload;
+
+/**
+ * Default package implementation of the work measured by the JMH
+ * benchmarks in librarybench, see LibraryWorkload.
+ *
+ * Has to be run from the project root, see BenchmarkLibraries for the
+ * book data used.
+ */
+public class LibraryWorkloads implements LibraryWorkload {
+
+    /** Receives the output of all loads and commands. */
+    private final CommandOutput out = BenchmarkLibraries.discardingOutput();
+
+    /** Book data file of the benchmarked scale. */
+    private Path libraryFile;
+    /** Loader holding the content of the book data file. */
+    private LibraryFileLoader preloadedLoader;
+    /** Storage mode of the prepared library. */
+    private StorageMode storageMode;
+    /** Library the commands are executed on. */
+    private LibraryData library;
+    /** Snapshot of the prepared library. */
+    private Path snapshot;
+    /** Command run by executeCommand. */
+    private LibraryCommand command;
+
+    @Override
+    public void writeLibraryFile(int scale) {
+        libraryFile = BenchmarkLibraries.scaledLibrary(scale);
+    }
+
+    @Override
+    public Object loadFileContent() {
+        LibraryFileLoader loader = new LibraryFileLoader();
+        loader.loadFileContent(libraryFile);
+        return loader;
+    }
+
+    @Override
+    public void preloadFileContent() {
+        preloadedLoader = new LibraryFileLoader();
+        preloadedLoader.loadFileContent(libraryFile);
+    }
+
+    @Override
+    public Object parseFileContent() {
+        return preloadedLoader.parseFileContent();
+    }
+
+    @Override
+    public Object streamFileContent() {
+        List<BookEntry> entries = new ArrayList<>();
+        new LibraryFileLoader().streamFileContent(libraryFile, entries::add);
+        return entries;
+    }
+
+    @Override
+    public Object parallelFileContent() {
+        List<BookEntry> entries = new ArrayList<>();
+        new LibraryFileLoader().parallelFileContent(libraryFile, entries::add);
+        return entries;
+    }
+
+    @Override
+    public Object loadLibrary(String storageMode) {
+        LibraryData data = new LibraryData(StorageMode.valueOf(storageMode));
+        if (!data.loadData(libraryFile, out)) {
+            throw new IllegalStateException("Loading library failed: " + libraryFile);
+        }
+        out.flush();
+        return data;
+    }
+
+    @Override
+    public void prepareLibrary(String storageMode) {
+        this.storageMode = StorageMode.valueOf(storageMode);
+        library = (LibraryData) loadLibrary(storageMode);
+        try {
+            snapshot = Files.createTempFile("library-", ".snapshot");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Creating snapshot file failed", e);
+        }
+        if (!library.saveSnapshot(snapshot, out)) {
+            throw new IllegalStateException("Saving library snapshot failed: " + snapshot);
+        }
+    }
+
+    @Override
+    public Object mergeDuplicates() {
+        library.loadData(libraryFile, out);
+        out.flush();
+        return library;
+    }
+
+    @Override
+    public void restoreLibrary() {
+        library = new LibraryData(storageMode);
+        if (!library.loadSnapshot(snapshot, out)) {
+            throw new IllegalStateException("Restoring library snapshot failed: " + snapshot);
+        }
+    }
+
+    @Override
+    public void prepareCommand(String commandLine) {
+        Objects.requireNonNull(commandLine, "Given command line must not be null.");
+        String[] parts = commandLine.split(" ", 2);
+        command = CommandFactory.createCommand(CommandType.valueOf(parts[0]), parts.length > 1 ? parts[1] : "");
+        if (command == null) {
+            throw new IllegalArgumentException("Invalid benchmark command: " + commandLine);
+        }
+    }
+
+    @Override
+    public Object executeCommand() {
+        command.execute(library, out);
+        out.flush();
+        return command;
+    }
+
+    @Override
+    public void close() {
+        deleteQuietly(libraryFile);
+        deleteQuietly(snapshot);
+    }
+
+    /** Delete a temporary file, ignoring failures. */
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("WARNING: Deleting temporary file failed: " + file);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package librarybench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the execute path of the read-only library commands.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CommandBenchmarks {
+
+    /** Number of copies of the base book data file. */
+    @Param({ "1", "10", "100" })
+    public int scale;
+
+    /** Name of the storage mode of the library. */
+    @Param({ "OBJECTS", "COLUMNAR", "OFF_HEAP" })
+    public String storageMode;
+
+    /** Command to be executed. */
+    @Param({ "SEARCH the", "SEARCH Hobbit", "LIST short", "LIST long", "GROUP TITLE", "GROUP AUTHOR" })
+    public String command;
+
+    private LibraryWorkload workload;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        workload = LibraryWorkload.create();
+        workload.writeLibraryFile(scale);
+        workload.prepareLibrary(storageMode);
+        workload.prepareCommand(command);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        workload.close();
+    }
+
+    @Benchmark
+    public Object execute() {
+        return workload.executeCommand();
+    }
+}
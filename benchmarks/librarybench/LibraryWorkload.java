@@ -0,0 +1,104 @@
+package librarybench;
+
+/**
+ * Work measured by the library benchmarks.
+ *
+ * The library classes live in the default package, which cannot be
+ * imported from the named package JMH requires for its benchmarks. The
+ * benchmarks therefore only see this interface, implemented by the
+ * default package class LibraryWorkloads and created by reflection.
+ *
+ * Methods returning an object return the result of the measured work,
+ * to be consumed by the benchmark.
+ */
+public interface LibraryWorkload extends AutoCloseable {
+
+    /** Binary name of the implementation in the default package. */
+    String IMPLEMENTATION = "LibraryWorkloads";
+
+    /**
+     * Create a new workload.
+     * @return new workload backed by the library classes
+     * @throws IllegalStateException if the implementation cannot be created
+     */
+    static LibraryWorkload create() {
+        try {
+            return (LibraryWorkload) Class.forName(IMPLEMENTATION).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Creating library workload failed", e);
+        }
+    }
+
+    /**
+     * Write the book data file of the given scale used by all other methods.
+     * @param scale number of copies of the base book data file
+     */
+    void writeLibraryFile(int scale);
+
+    /**
+     * Load the content of the book data file into a new loader.
+     * @return loader holding the file content
+     */
+    Object loadFileContent();
+
+    /** Load the content of the book data file into the loader used by parseFileContent. */
+    void preloadFileContent();
+
+    /**
+     * Parse the content loaded by preloadFileContent.
+     * @return parsed book entries
+     */
+    Object parseFileContent();
+
+    /**
+     * Parse the book data file while streaming it.
+     * @return parsed book entries
+     */
+    Object streamFileContent();
+
+    /**
+     * Parse the book data file in parallel.
+     * @return parsed book entries
+     */
+    Object parallelFileContent();
+
+    /**
+     * Load the book data file into a new library.
+     * @param storageMode name of the storage mode of the library
+     * @return loaded library
+     */
+    Object loadLibrary(String storageMode);
+
+    /**
+     * Load the book data file into the library used by mergeDuplicates
+     * and executeCommand, and save a snapshot of it for restoreLibrary.
+     * @param storageMode name of the storage mode of the library
+     */
+    void prepareLibrary(String storageMode);
+
+    /**
+     * Load the book data file again into the prepared library, so that
+     * every entry is a duplicate.
+     * @return prepared library
+     */
+    Object mergeDuplicates();
+
+    /** Replace the prepared library by a copy restored from its snapshot. */
+    void restoreLibrary();
+
+    /**
+     * Create the command run by executeCommand.
+     * @param commandLine command type followed by its arguments, e.g. "SEARCH the"
+     */
+    void prepareCommand(String commandLine);
+
+    /**
+     * Execute the prepared command on the prepared library.
+     * @return executed command
+     */
+    Object executeCommand();
+
+    /** Delete all temporary files of the workload. */
+    @Override
+    void close();
+}
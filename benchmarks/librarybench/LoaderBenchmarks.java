@@ -0,0 +1,67 @@
+package librarybench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for reading and parsing book data files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LoaderBenchmarks {
+
+    /** Number of copies of the base book data file. */
+    @Param({ "1", "10", "100" })
+    public int scale;
+
+    private LibraryWorkload workload;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        workload = LibraryWorkload.create();
+        workload.writeLibraryFile(scale);
+        workload.preloadFileContent();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        workload.close();
+    }
+
+    @Benchmark
+    public Object loadFileContent() {
+        return workload.loadFileContent();
+    }
+
+    @Benchmark
+    public Object parseFileContent() {
+        return workload.parseFileContent();
+    }
+
+    @Benchmark
+    public Object streamFileContent() {
+        return workload.streamFileContent();
+    }
+
+    @Benchmark
+    public Object parallelFileContent() {
+        return workload.parallelFileContent();
+    }
+}
@@ -0,0 +1,66 @@
+package librarybench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for merging book data files into a library.
+ *
+ * Every storage mode runs in a JVM of its own, so the JIT profile of
+ * one mode does not slow down the next.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MergeBenchmarks {
+
+    /** Number of copies of the base book data file. */
+    @Param({ "1", "10", "100" })
+    public int scale;
+
+    /** Name of the storage mode of the library. */
+    @Param({ "OBJECTS", "COLUMNAR", "OFF_HEAP" })
+    public String storageMode;
+
+    private LibraryWorkload workload;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        workload = LibraryWorkload.create();
+        workload.writeLibraryFile(scale);
+        workload.prepareLibrary(storageMode);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        workload.close();
+    }
+
+    /** Load the book data file into a new library. */
+    @Benchmark
+    public Object mergeNew() {
+        return workload.loadLibrary(storageMode);
+    }
+
+    /** Load the book data file into a library already holding all its entries. */
+    @Benchmark
+    public Object mergeDuplicates() {
+        return workload.mergeDuplicates();
+    }
+}
@@ -0,0 +1,70 @@
+package librarybench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the execute path of the REMOVE command.
+ *
+ * The library is restored from a snapshot before every invocation, so
+ * each invocation removes the same entries. Single shot timing is used
+ * as every invocation needs a setup of its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RemoveBenchmarks {
+
+    /** Number of copies of the base book data file. */
+    @Param({ "1", "10", "100" })
+    public int scale;
+
+    /** Name of the storage mode of the library. */
+    @Param({ "OBJECTS", "COLUMNAR", "OFF_HEAP" })
+    public String storageMode;
+
+    /** Command to be executed. */
+    @Param({ "REMOVE TITLE The Hobbit", "REMOVE AUTHOR J.R.R. Tolkien" })
+    public String command;
+
+    private LibraryWorkload workload;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        workload = LibraryWorkload.create();
+        workload.writeLibraryFile(scale);
+        workload.prepareLibrary(storageMode);
+        workload.prepareCommand(command);
+    }
+
+    @Setup(Level.Iteration)
+    public void restore() {
+        workload.restoreLibrary();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        workload.close();
+    }
+
+    @Benchmark
+    public Object execute() {
+        return workload.executeCommand();
+    }
+}
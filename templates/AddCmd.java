@@ -1,15 +1,34 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Subclass of superclass Library Command
  * Designed for adding books to Library
+ * Besides a single file, a directory or a glob pattern such as
+ "data/*.csv" can be given to add many files at once. An existing file
+ or directory is always taken literally, even if its name contains glob
+ characters
  */
 public class AddCmd extends LibraryCommand {
-    /** Initialises Path entryPath.
-     * This is used to store the path received from the user input */
-    private Path entryPath;
+    /** Characters with a special meaning in glob patterns */
+    private static final String GLOB_CHARACTERS = "*?[{";
+    /** Path element matching any number of directories in glob patterns */
+    private static final String ANY_DIRECTORIES = "**/";
+    /** Initialises String entryInput.
+     * This is used to store the path or glob pattern received from the
+     user input. Whether it names a file, a directory or a pattern is
+     decided again when executing, as the files may change in between */
+    private String entryInput;
     /** Method RemoveCmd
      * Instantiates AddCmd object  with ADD
      from Command type enum and argumentInput
@@ -26,10 +45,12 @@ public class AddCmd extends LibraryCommand {
      * 2. Assigns the boolean inputValid false for the input validity,
      * 3. Checks if the user input is not blank. If it is, validEntry will
      remain false
-     * 4. Assigns the Path entryPath declared earlier to the user input
-     * 5. Checks if the ending of the path is equal to ".csv". If true,
-     the function will reassign inputValid to true, confirming the validity
-     the user input.
+     * 4. Assigns the String entryInput declared earlier to the user input
+     * 5. Checks if the ending of the path is equal to ".csv", if the path
+     names an existing directory, or if it is a glob pattern whose last
+     element has no file extension, as in "data/*". If true, the function
+     will reassign inputValid to true, confirming the validity the user input.
+     Any other path is rejected, as it cannot name a csv file
      * Input Parameters:
      * @param argumentInput contains input from user
      * Output Parameters:
@@ -44,25 +65,170 @@ public class AddCmd extends LibraryCommand {
         // 3.
         if (!argumentInput.isBlank()) {
             // 4.
-            entryPath = Paths.get(argumentInput.replaceAll(" ", ""));
+            entryInput = argumentInput.replaceAll(" ", "");
             // 5.
-            validEntry = argumentInput.substring(argumentInput.length() - 4).equals(".csv");
+            int nameStart = lastSeparator(entryInput, entryInput.length()) + 1;
+            Path entryPath = literalPath(entryInput);
+            validEntry = argumentInput.endsWith(".csv") || entryPath != null && Files.isDirectory(entryPath)
+                || containsGlob(entryInput) && entryInput.indexOf('.', nameStart) == -1;
         }
         return validEntry;
     }
+    @Override//locksItself
+    /** Method locksItself: true, as the files are found and read before the write lock is taken to merge them */
+    public boolean locksItself() {
+        return true;
+    }
     @Override//execute
     /** Method execute
      * Executes AddCmd Command with provided path
      * 1. Checks if the library data provided is null
-     * 2. Calls loadData function from the Library data class, which extracts data
-     from the csv file obtained via the entryPath and adds it to the library
+     * 2. If the input names an existing file, or does not contain any glob
+     characters, calls loadData function from the Library data class, which
+     extracts data from the csv file obtained via the input path and adds
+     it to the library
+     * 3. Otherwise finds all csv files in the directory or matching the
+     pattern and lets the Library data class load them together. If no
+     files are found, the user is informed
      * Input Parameters:
      * @param data contains all the data from the library
+     * @param out receives the output of the command
+     * Output Parameters:
+     * @return true if all book data files were loaded, false if an error was reported
      * Exceptions:
      * @throws NullPointerException if data is null
      */
-    public void execute(LibraryData data) {
+    public boolean execute(LibraryData data, CommandOutput out) {
+        // 1.
         Objects.requireNonNull(data, "Given argument input must not be null.");
-        data.loadData(entryPath);
+        // 2.
+        Path entryPath = literalPath(entryInput);
+        boolean directory = entryPath != null && Files.isDirectory(entryPath);
+        if (entryPath != null && !directory && (Files.exists(entryPath) || !containsGlob(entryInput))) {
+            return data.loadData(entryPath, out);
+        }
+        // 3.
+        List<Path> files;
+        try {
+            files = directory ? findDirectoryFiles(entryPath) : findMatchingFiles(entryInput);
+        } catch (IOException | RuntimeException e) {
+            out.printError("ERROR: Finding book data files failed for: " + getArgument() + ": " + e.getMessage());
+            return false;
+        }
+        if (files.isEmpty()) {
+            out.println("No book data files found for: " + getArgument());
+            return true;
+        }
+        return data.loadData(files, out);
+    }
+    /** Method literalPath
+     * Converts the given input into a path, if it is a valid path
+     * Input Parameters:
+     * @param input contains input from user
+     * Output Parameters:
+     * @return path named by the input, or null if the input is not a valid
+     path, as glob characters are not allowed in paths on some systems */
+    private static Path literalPath(String input) {
+        try {
+            return Paths.get(input);
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+    /** Method lastSeparator
+     * Finds the last path separator before the given index, accepting "/"
+     as well as the separator of the system
+     * Input Parameters:
+     * @param input contains input from user
+     * @param end index to search backwards from, exclusive
+     * Output Parameters:
+     * @return index of the last separator, or -1 if there is none */
+    private static int lastSeparator(String input, int end) {
+        for (int i = end - 1; i >= 0; i--) {
+            if (input.charAt(i) == '/' || input.charAt(i) == File.separatorChar) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    /** Method containsGlob
+     * Checks if the given input contains any glob characters
+     * Input Parameters:
+     * @param input contains input from user
+     * Output Parameters:
+     * @return true if the input is a glob pattern */
+    private static boolean containsGlob(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(input.charAt(i)) != -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+    /** Method findDirectoryFiles
+     * Finds all csv files directly inside the given directory
+     * Input Parameters:
+     * @param directory contains the directory given by the user
+     * Output Parameters:
+     * @return csv files in the directory
+     * Exceptions:
+     * @throws IOException if the directory cannot be read */
+    private static List<Path> findDirectoryFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".csv") && Files.isRegularFile(file))
+                .collect(Collectors.toList());
+        }
+    }
+    /** Method findMatchingFiles
+     * Finds all files matching the given glob pattern
+     * 1. Splits the pattern into the directory before the first path
+     element with glob characters and the rest of the pattern, which uses
+     "/" as separator. A "**" directory element also matches no directory
+     at all, so the files directly in the directory before it are included
+     * 2. Walks the files below that directory, only as deep as the rest of
+     the pattern reaches unless it contains "**", and keeps the regular
+     files whose path relative to the directory matches the rest of the pattern
+     * Input Parameters:
+     * @param pattern contains the glob pattern given by the user
+     * Output Parameters:
+     * @return files matching the pattern
+     * Exceptions:
+     * @throws IOException if a directory cannot be read */
+    private static List<Path> findMatchingFiles(String pattern) throws IOException {
+        // 1.
+        int globStart = 0;
+        while (GLOB_CHARACTERS.indexOf(pattern.charAt(globStart)) == -1) {
+            globStart++;
+        }
+        int baseEnd = lastSeparator(pattern, globStart);
+        Path base = baseEnd == -1 ? Paths.get("") : Paths.get(pattern.substring(0, baseEnd + 1));
+        String rest = pattern.substring(baseEnd + 1).replace(File.separatorChar, '/');
+        Path absoluteBase = base.toAbsolutePath();
+        if (!Files.isDirectory(absoluteBase)) {
+            return List.of();
+        }
+        // 2.
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + rest);
+        PathMatcher shallowMatcher = rest.contains(ANY_DIRECTORIES)
+            ? FileSystems.getDefault().getPathMatcher("glob:" + rest.replace(ANY_DIRECTORIES, ""))
+            : matcher;
+        int depth = rest.contains("**") ? Integer.MAX_VALUE : rest.split("/").length;
+        try (Stream<Path> files = Files.walk(absoluteBase, depth)) {
+            return files.filter(file -> Files.isRegularFile(file)
+                    && matchesEither(matcher, shallowMatcher, absoluteBase.relativize(file)))
+                .map(file -> base.resolve(absoluteBase.relativize(file)))
+                .collect(Collectors.toList());
+        }
+    }
+    /** Method matchesEither
+     * Checks if the given relative path matches one of the given matchers
+     * Input Parameters:
+     * @param matcher matches the pattern as given
+     * @param shallowMatcher matches the pattern without "**" directory elements
+     * @param relative path relative to the base directory of the pattern
+     * Output Parameters:
+     * @return true if the path matches the pattern */
+    private static boolean matchesEither(PathMatcher matcher, PathMatcher shallowMatcher, Path relative) {
+        return matcher.matches(relative) || shallowMatcher.matches(relative);
     }
 }
\ No newline at end of file
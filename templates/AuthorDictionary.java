@@ -0,0 +1,81 @@
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary of the author names of a library, mapping each distinct
+ * name to a single canonical string instance.
+ *
+ * Book entries built from canonical names share their author strings,
+ * so the memory needed for author names grows with the number of
+ * distinct authors rather than with the number of books. Equal names
+ * are the same instance, which lets String.equals succeed on its
+ * identity check. Safe to be used by several loading threads at once.
+ */
+public class AuthorDictionary {
+
+    /** Canonical instance of each name, keyed by itself. */
+    private final Map<String, String> names;
+
+    /** Create a new and empty dictionary. */
+    public AuthorDictionary() {
+        names = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the canonical instance of the given name, making the given
+     * string canonical if the name is not in the dictionary yet.
+     *
+     * @param name author name to be looked up
+     * @return canonical instance equal to the given name
+     * @throws NullPointerException if the given name is null
+     */
+    public String canonical(String name) {
+        Objects.requireNonNull(name, "Given name must not be null.");
+
+        String known = names.putIfAbsent(name, name);
+        return known == null ? name : known;
+    }
+
+    /**
+     * Replace each name in the given array by its canonical instance.
+     *
+     * @param authors author names to be replaced in place
+     * @return the given array
+     * @throws NullPointerException if the given array or one of its names is null
+     */
+    public String[] canonicalize(String[] authors) {
+        Objects.requireNonNull(authors, "Given authors must not be null.");
+
+        for (int i = 0; i < authors.length; i++) {
+            authors[i] = canonical(authors[i]);
+        }
+        return authors;
+    }
+
+    /**
+     * Remove the given names from the dictionary, e.g. after the last
+     * book entry written by them was removed. Entries still holding one
+     * of the names are not affected, but later entries get a new
+     * canonical instance.
+     *
+     * @param removed author names to be removed
+     * @throws NullPointerException if the given collection is null
+     */
+    public void removeAll(Collection<String> removed) {
+        Objects.requireNonNull(removed, "Given names must not be null.");
+
+        for (String name : removed) {
+            names.remove(name);
+        }
+    }
+
+    /**
+     * Number of distinct names in the dictionary.
+     * @return number of names
+     */
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,134 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Index from author ids to the rows of the book entries written by
+ * each author.
+ *
+ * Authors are identified by the ids of a StringStore, so the index
+ * holds neither author names nor book entries. The rows of each
+ * author are kept in a primitive array in ascending order.
+ */
+public class AuthorIndex {
+
+    /** Number of authors a new index has space for. */
+    private static final int INITIAL_CAPACITY = 16;
+    /** Rows of authors without any book entries. */
+    private static final int[] NO_ROWS = new int[0];
+
+    /** Rows of each author in ascending order, the first counts[author] are valid. */
+    private int[][] postings;
+    /** Number of rows of each author. */
+    private int[] counts;
+    /** Number of authors with at least one row. */
+    private int authorCount;
+
+    /** Create a new and empty index. */
+    public AuthorIndex() {
+        clear();
+    }
+
+    /**
+     * Add a row to the rows of the given author. Rows have to be added
+     * in ascending order. A row naming the same author twice is only
+     * listed once.
+     *
+     * @param author id of the author
+     * @param row row of a book entry written by the author
+     * @throws IndexOutOfBoundsException if the author id is negative
+     */
+    public void add(int author, int row) {
+        Objects.checkIndex(author, Integer.MAX_VALUE);
+        if (author >= postings.length) {
+            int capacity = Math.max(author + 1, postings.length * 2);
+            postings = Arrays.copyOf(postings, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        int[] posting = postings[author];
+        int count = counts[author];
+        if (count > 0 && posting[count - 1] == row) {
+            return;
+        }
+        if (posting == null || count == posting.length) {
+            posting = posting == null ? new int[1] : Arrays.copyOf(posting, count + (count >> 1) + 1);
+            postings[author] = posting;
+        }
+        posting[count] = row;
+        counts[author] = count + 1;
+        if (count == 0) {
+            authorCount++;
+        }
+    }
+
+    /**
+     * Rows of the book entries of the given author.
+     * @param author id of the author, -1 for an unknown author
+     * @return copy of the rows in ascending order, empty if there are none
+     */
+    public int[] get(int author) {
+        if (author < 0 || author >= postings.length || counts[author] == 0) {
+            return NO_ROWS;
+        }
+        return Arrays.copyOf(postings[author], counts[author]);
+    }
+
+    /**
+     * Number of book entries of the given author.
+     * @param author id of the author, -1 for an unknown author
+     * @return number of rows of the author
+     */
+    public int count(int author) {
+        return author < 0 || author >= counts.length ? 0 : counts[author];
+    }
+
+    /**
+     * Number of authors with book entries.
+     * @return number of authors with at least one row
+     */
+    public int authorCount() {
+        return authorCount;
+    }
+
+    /**
+     * Upper bound of the ids of all authors with book entries.
+     * @return number of author ids the index has space for
+     */
+    public int idLimit() {
+        return counts.length;
+    }
+
+    /**
+     * Move all rows to the positions they take after rows were removed
+     * from the library. Rows moved to a negative position are dropped.
+     * Every row is visited once and rows keep their order.
+     *
+     * @param newRows new position of each row, negative for removed rows
+     * @throws NullPointerException if the given array is null
+     */
+    public void remap(int[] newRows) {
+        Objects.requireNonNull(newRows, "Given rows must not be null.");
+
+        for (int author = 0; author < postings.length; author++) {
+            int[] posting = postings[author];
+            int kept = 0;
+            for (int i = 0; i < counts[author]; i++) {
+                int row = newRows[posting[i]];
+                if (row >= 0) {
+                    posting[kept++] = row;
+                }
+            }
+            if (kept == 0 && counts[author] > 0) {
+                postings[author] = null;
+                authorCount--;
+            }
+            counts[author] = kept;
+        }
+    }
+
+    /** Remove all entries from the index. */
+    public void clear() {
+        postings = new int[INITIAL_CAPACITY][];
+        counts = new int[INITIAL_CAPACITY];
+        authorCount = 0;
+    }
+}
@@ -1,4 +1,6 @@
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 public final class BookEntry {
@@ -7,10 +9,24 @@ public final class BookEntry {
     private final float rating;
     private final String ISBN;
     private final int pages;
+    /** Hash code, computed once as all fields are final. Kept per entry, as
+     * the indexes hash every entry and equals compares it first */
+    private final int hash;
+    /** Formatted ratings from 0.00 to 5.00, indexed by hundredths, shared
+     * between all book entries as ratings are rounded to two places anyway */
+    private static final String[] RATING_FORMATS = new String[501];
+    static {
+        for (int hundredths = 0; hundredths < RATING_FORMATS.length; hundredths++) {
+            RATING_FORMATS[hundredths] = String.format("%.2f", hundredths / 100.0);
+        }
+    }
     /** Creates a book entry and initialises it with input parameters
      * 1. Makes sure none of the input parameters are null
      * 2. Checks if the rating is between 0 and 5.
      * 3. Checks if pages are not negative is between 0 and 5.
+     * 4. Stores a sorted copy of the authors, so that later changes to the
+     given array do not affect the book entry
+     * 5. Precomputes the hash code
      * Input Parameters:
      * @param title contains String of title of book
      * @param authors contains String array of authors of book
@@ -37,19 +53,32 @@ public final class BookEntry {
             throw new IllegalArgumentException("Pages cannot be negative");
         }
         this.title = title;
-        this.authors = authors;
+        // 4.
+        this.authors = authors.clone();
+        Arrays.sort(this.authors);
         this.rating = rating;
         this.ISBN = ISBN;
         this.pages = pages;
+        // 5.
+        this.hash = computeHashCode();
     }
     // -------------------- Getter Functions -------------------- //
     public String getTitle() {
         return title;
     }
-    /** Get authors is sorted first before returned*/
+    /** Get authors returns a copy of the authors, which are already sorted.
+     * Use getAuthorList to avoid the copy*/
     public String[] getAuthors() {
-        Arrays.sort(authors);
-        return authors;    }
+        return authors.clone();
+    }
+    /** Get author list returns an unmodifiable view of the sorted authors*/
+    public List<String> getAuthorList() {
+        return Collections.unmodifiableList(Arrays.asList(authors));
+    }
+    /** Get authors key returns the sorted authors separated by ", "*/
+    public String getAuthorsKey() {
+        return authors.length == 1 ? authors[0] : String.join(", ", authors);
+    }
     public float getRating() {
         return rating;
     }
@@ -59,37 +88,35 @@ public final class BookEntry {
     public int getPages() {
         return pages;
     }
-    // -------------------- Other Functions -------------------- //
-    /** Method arrayToString
-     * Used to remove square brackets from array
-     * Input Parameters
-     * @param array contains String array to be altered
-     * Output Parameters
-     * @return converts array to string with square brackets removed
-     * */
-    private String arrayToString (String [] array) {
-        return Arrays.toString(array)
-                   .replace("[", "")
-                   .replace("]", "");
+    /** Replaces each author by the equal canonical instance of the given
+     dictionary, so that the book data shares its author strings. The values
+     and the order of the authors do not change
+     * Input Parameters:
+     * @param authorNames dictionary providing the canonical author names */
+    void canonicalizeAuthors(AuthorDictionary authorNames) {
+        authorNames.canonicalize(authors);
     }
+    // -------------------- Other Functions -------------------- //
     @Override//toString
     /** Method toString
      * Overwrites default toString() object method for printing book entries
-     * 1. The arrayToString function is applied to the authors attribute,
-     with the result stored in authorsOutput
-     * 2. Creates the ratingFormatted, which stores the ratings attribute
-     of the book to 2 decimal places as a string
-     * 3. Outputs the attributes in appropriate format, which is then printed
+     * 1. Gets the ratingFormatted, which stores the ratings attribute
+     of the book to 2 decimal places as a string. The rating is rounded half
+     up to hundredths, which is exact in double arithmetic, and the text is
+     taken from the precomputed table
+     * 2. Outputs the attributes in appropriate format, using the authors
+     key, which is then printed
      * Output Parameters
      * @ return attributes in appropriate format for printing
      * */
     public String toString() {
         // 1.
-        String authorsOutput = arrayToString (getAuthors());
+        long hundredths = Math.round(getRating() * 100.0);
+        String ratingFormatted = hundredths >= 0 && hundredths < RATING_FORMATS.length
+            ? RATING_FORMATS[(int) hundredths]
+            : String.format("%.2f", getRating());
         // 2.
-        String ratingFormatted = String.format("%.2f", getRating());
-        // 3.
-        return (getTitle() + "\n" + "by " + authorsOutput + "\n" + "Rating: " + ratingFormatted + "\n" + "ISBN: " + getISBN() + "\n" + + getPages() + " pages");
+        return (getTitle() + "\n" + "by " + getAuthorsKey() + "\n" + "Rating: " + ratingFormatted + "\n" + "ISBN: " + getISBN() + "\n" + + getPages() + " pages");
     }
     @Override//equals
     /** Method equals
@@ -98,7 +125,10 @@ public final class BookEntry {
      * 2. Checks if obj is instance of BookEntry Class so it can be compared
      * 3. Creates object with type BookEntry by casting obj type BookEntry.
      This allows the object to use BookEntry methods
-     * 4. Compares values and returns true if they are all equal, else returns false
+     * 4. Compares the cached hash codes first, as books with different hash
+     codes cannot be equal
+     * 5. Compares values and returns true if they are all equal, else returns false.
+     No strings or arrays are created for the comparison
      * Input Parameters:
      * @param obj contains object passed in for comparison
      * Output Parameters
@@ -116,8 +146,12 @@ public final class BookEntry {
         // 3.
         BookEntry object = (BookEntry) obj;
         // 4.
+        if (hash != object.hash) {
+            return false;
+        }
+        // 5.
         return  (getTitle().equals(object.getTitle())) &&
-                    (Arrays.toString(getAuthors()).equals(Arrays.toString(object.getAuthors()))) &&
+                    (Arrays.equals(authors, object.authors)) &&
                     (getRating() == object.getRating()) &&
                     (getISBN().equals(object.getISBN())) &&
                     (getPages() == object.getPages());
@@ -131,16 +165,26 @@ public final class BookEntry {
      7 and 31 is multiplied by the hash before adding the hash number given
      from the attribute. This ensures a unique result is
      obtained for every function
+     * The hashcode is computed once in the constructor by computeHashCode.
      * Output Parameters
      * @return generated hashcode
      * */
     public int hashCode() {
+        return hash;
+    }
+    /** Method computeHashCode
+     * Generates the hashcode returned by hashCode. A rating of -0.0 is treated
+     as 0.0, as both are equal when compared with ==
+     * Output Parameters
+     * @return generated hashcode
+     * */
+    private int computeHashCode() {
         int hash = 7;
-        hash = (31 * hash) + (getTitle() == null ? 0 : getTitle().hashCode());
-        hash = (31 * hash) + arrayToString (getAuthors()).hashCode();
-        hash = (31 * hash) + (int) getRating();
-        hash = (31 * hash) + getISBN().hashCode();
-        hash = (31 * hash) + getPages();
+        hash = (31 * hash) + title.hashCode();
+        hash = (31 * hash) + Arrays.hashCode(authors);
+        hash = (31 * hash) + (rating == 0 ? 0 : Float.floatToIntBits(rating));
+        hash = (31 * hash) + ISBN.hashCode();
+        hash = (31 * hash) + pages;
         return hash;
     }
     // --------------------------------------------------------- //
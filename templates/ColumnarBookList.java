@@ -0,0 +1,581 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * Book list storing its entries column by column instead of
+ * as one object per book.
+ *
+ * Ratings and pages are kept in primitive arrays, ISBNs are packed
+ * into longs and titles and authors are dictionary encoded, so the
+ * library only holds a few primitive values per book. Book entries
+ * are created on access, which allows all commands to work with this
+ * list like with any other list of book entries.
+ *
+ * Titles and author names can be kept outside of the heap, see
+ * OffHeapStringDictionary. They are then only turned into strings when
+ * a book entry is created, e.g. to print it.
+ *
+ * Only appending entries and removing entries are supported. The list
+ * keeps its own hash table over all rows, so contains and removeAll
+ * run without creating any book entries.
+ *
+ * Removing rows leaves their strings in the dictionaries. Once a
+ * dictionary holds more than twice as many strings as the remaining
+ * rows use, it is rebuilt with only the strings in use, which hands
+ * out new ids.
+ */
+public class ColumnarBookList extends AbstractList<BookEntry> implements RandomAccess {
+
+    /** Initial number of rows the columns have space for. */
+    private static final int INITIAL_CAPACITY = 16;
+    /** Largest number of digits in an ISBN that can be packed. */
+    private static final int MAX_PACKED_DIGITS = 15;
+    /** Position of the digit count in a packed ISBN. */
+    private static final int PACKED_LENGTH_SHIFT = 51;
+    /** Flag marking a packed ISBN ending in X. */
+    private static final long PACKED_X_FLAG = 1L << 50;
+    /** Mask for the digit value of a packed ISBN. */
+    private static final long PACKED_VALUE_MASK = PACKED_X_FLAG - 1;
+    /** Dictionaries holding more than this many strings per string in use are rebuilt. */
+    private static final int DICTIONARY_SLACK = 2;
+
+    /** True if titles and author names are kept outside of the heap. */
+    private final boolean offHeapStrings;
+    /** Titles of all books. */
+    private StringStore titleDictionary;
+    /** Author names of all books. */
+    private StringStore authorDictionary;
+    /** ISBNs which cannot be packed into a long. */
+    private StringDictionary isbnDictionary;
+
+    private int size;
+    private int[] titleIds;
+    private float[] ratings;
+    private int[] pages;
+    /** Packed ISBNs, or the negated isbnDictionary id plus one for ISBNs that cannot be packed. */
+    private long[] isbns;
+    /** Hash code of the book entry of each row. */
+    private int[] hashes;
+    /** Start of the authors of each row in authorIds, with an additional end entry. */
+    private int[] authorOffsets;
+    /** Sorted author ids of all rows, one row after another. */
+    private int[] authorIds;
+    /** Open addressing hash table of row numbers plus one, 0 marks a free slot. */
+    private int[] table;
+
+    /** Create a new and empty columnar book list keeping all strings on the heap. */
+    public ColumnarBookList() {
+        this(false);
+    }
+
+    /**
+     * Create a new and empty columnar book list.
+     * @param offHeapStrings true to keep titles and author names outside of the heap
+     */
+    public ColumnarBookList(boolean offHeapStrings) {
+        this.offHeapStrings = offHeapStrings;
+        newDictionaries();
+        titleIds = new int[INITIAL_CAPACITY];
+        ratings = new float[INITIAL_CAPACITY];
+        pages = new int[INITIAL_CAPACITY];
+        isbns = new long[INITIAL_CAPACITY];
+        hashes = new int[INITIAL_CAPACITY];
+        authorOffsets = new int[INITIAL_CAPACITY + 1];
+        authorIds = new int[INITIAL_CAPACITY];
+        table = new int[INITIAL_CAPACITY * 2];
+    }
+
+    // -------------------- Column accessors -------------------- //
+
+    /**
+     * @param index row of the book
+     * @return title of the book
+     */
+    public String getTitle(int index) {
+        Objects.checkIndex(index, size);
+        return titleDictionary.get(titleIds[index]);
+    }
+
+    /**
+     * @param index row of the book
+     * @return rating of the book
+     */
+    public float getRating(int index) {
+        Objects.checkIndex(index, size);
+        return ratings[index];
+    }
+
+    /**
+     * @param index row of the book
+     * @return number of pages of the book
+     */
+    public int getPages(int index) {
+        Objects.checkIndex(index, size);
+        return pages[index];
+    }
+
+    /**
+     * @param index row of the book
+     * @return ISBN of the book
+     */
+    public String getISBN(int index) {
+        Objects.checkIndex(index, size);
+        return unpackIsbn(isbns[index]);
+    }
+
+    /**
+     * @param index row of the book
+     * @return number of authors of the book
+     */
+    public int getAuthorCount(int index) {
+        Objects.checkIndex(index, size);
+        return authorOffsets[index + 1] - authorOffsets[index];
+    }
+
+    /**
+     * @param index row of the book
+     * @param author position of the author among the authors of the book
+     * @return dictionary id of the author, see getAuthorName
+     */
+    public int getAuthorId(int index, int author) {
+        Objects.checkIndex(author, getAuthorCount(index));
+        return authorIds[authorOffsets[index] + author];
+    }
+
+    /**
+     * @param id dictionary id of an author
+     * @return name of the author
+     */
+    public String getAuthorName(int id) {
+        return authorDictionary.get(id);
+    }
+
+    /**
+     * @param name name of an author
+     * @return dictionary id of the author, or -1 if no book of this list
+     * is written by the author. Authors whose books were all removed may
+     * keep their id until the author dictionary is rebuilt
+     */
+    public int findAuthor(String name) {
+        return authorDictionary.find(name);
+    }
+
+    // -------------------- List functions -------------------- //
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Create the book entry stored in the given row.
+     * @param index row of the book
+     * @return new book entry with the values of the row
+     */
+    @Override
+    public BookEntry get(int index) {
+        Objects.checkIndex(index, size);
+
+        int from = authorOffsets[index];
+        String[] authors = new String[authorOffsets[index + 1] - from];
+        for (int i = 0; i < authors.length; i++) {
+            authors[i] = authorDictionary.get(authorIds[from + i]);
+        }
+        return new BookEntry(titleDictionary.get(titleIds[index]), authors, ratings[index],
+            unpackIsbn(isbns[index]), pages[index]);
+    }
+
+    /**
+     * Append the given book entry. Entries can only be added at the end.
+     * @throws UnsupportedOperationException if index is not the size of the list
+     */
+    @Override
+    public void add(int index, BookEntry entry) {
+        Objects.requireNonNull(entry, "Given entry must not be null.");
+        if (index != size) {
+            throw new UnsupportedOperationException("Entries can only be appended.");
+        }
+
+        List<String> authors = entry.getAuthorList();
+        ensureCapacity(size + 1, authorOffsets[size] + authors.size());
+        titleIds[size] = titleDictionary.add(entry.getTitle());
+        ratings[size] = entry.getRating();
+        pages[size] = entry.getPages();
+        isbns[size] = packIsbn(entry.getISBN(), true);
+        hashes[size] = entry.hashCode();
+        int offset = authorOffsets[size];
+        for (String author : authors) {
+            authorIds[offset++] = authorDictionary.add(author);
+        }
+        authorOffsets[size + 1] = offset;
+        size++;
+        modCount++;
+
+        if (size * 2 > table.length) {
+            rebuildTable(table.length * 2);
+        } else {
+            insertIntoTable(size - 1);
+        }
+    }
+
+    @Override
+    public BookEntry remove(int index) {
+        BookEntry removed = get(index);
+        boolean[] remove = new boolean[size];
+        remove[index] = true;
+        compact(remove);
+        return removed;
+    }
+
+    /**
+     * Check if an equal book entry is stored in this list.
+     * Only the rows with the same hash code are compared, without creating
+     * any book entries.
+     */
+    @Override
+    public boolean contains(Object obj) {
+        return indexOf(obj) != -1;
+    }
+
+    @Override
+    public int indexOf(Object obj) {
+        if (!(obj instanceof BookEntry)) {
+            return -1;
+        }
+        BookEntry entry = (BookEntry) obj;
+        int mask = table.length - 1;
+        for (int slot = entry.hashCode() & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int row = table[slot] - 1;
+            if (rowEquals(row, entry)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Remove all entries contained in the given collection
+     * in a single pass over the columns.
+     */
+    @Override
+    public boolean removeAll(Collection<?> entries) {
+        Objects.requireNonNull(entries, "Given entries must not be null.");
+
+        boolean[] remove = new boolean[size];
+        boolean found = false;
+        for (Object entry : entries) {
+            int row = indexOf(entry);
+            if (row != -1) {
+                remove[row] = true;
+                found = true;
+            }
+        }
+        if (found) {
+            compact(remove);
+        }
+        return found;
+    }
+
+    /**
+     * Remove all entries matching the given filter in a single pass over
+     * the columns. Each entry is created once to be tested.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super BookEntry> filter) {
+        Objects.requireNonNull(filter, "Given filter must not be null.");
+
+        boolean[] remove = new boolean[size];
+        boolean found = false;
+        for (int row = 0; row < size; row++) {
+            if (filter.test(get(row))) {
+                remove[row] = true;
+                found = true;
+            }
+        }
+        if (found) {
+            compact(remove);
+        }
+        return found;
+    }
+
+    /**
+     * Remove all marked rows in a single pass over the columns.
+     * @param remove marks the rows to be removed, one flag per row
+     * @return true if the author dictionary was rebuilt, so that all
+     * author ids handed out before are no longer valid
+     * @throws IllegalArgumentException if the number of flags is not the size of the list
+     */
+    public boolean removeRows(boolean[] remove) {
+        Objects.requireNonNull(remove, "Given flags must not be null.");
+        if (remove.length != size) {
+            throw new IllegalArgumentException("Expected one flag per row: " + remove.length);
+        }
+        return compact(remove);
+    }
+
+    /**
+     * Remove all rows. The dictionaries are replaced as well, so the
+     * strings of the removed rows are not kept alive.
+     */
+    @Override
+    public void clear() {
+        newDictionaries();
+        size = 0;
+        authorOffsets[0] = 0;
+        Arrays.fill(table, 0);
+        modCount++;
+    }
+
+    // -------------------- Helper functions -------------------- //
+
+    /** Replace the dictionaries by new and empty ones. */
+    private void newDictionaries() {
+        titleDictionary = newStringStore();
+        authorDictionary = newStringStore();
+        isbnDictionary = new StringDictionary();
+    }
+
+    /**
+     * Create a new and empty dictionary for titles or author names.
+     * @return dictionary keeping its strings where this list keeps them
+     */
+    private StringStore newStringStore() {
+        return offHeapStrings ? new OffHeapStringDictionary() : new StringDictionary();
+    }
+
+    /**
+     * Move all rows which are not marked for removal to the front of the columns
+     * and rebuild the dictionaries holding mostly strings of removed rows.
+     * @param remove marks the rows to be removed
+     * @return true if the author dictionary was rebuilt
+     */
+    private boolean compact(boolean[] remove) {
+        int kept = 0;
+        int authorEnd = 0;
+        for (int row = 0; row < size; row++) {
+            if (remove[row]) {
+                continue;
+            }
+            int from = authorOffsets[row];
+            int count = authorOffsets[row + 1] - from;
+            titleIds[kept] = titleIds[row];
+            ratings[kept] = ratings[row];
+            pages[kept] = pages[row];
+            isbns[kept] = isbns[row];
+            hashes[kept] = hashes[row];
+            System.arraycopy(authorIds, from, authorIds, authorEnd, count);
+            authorOffsets[kept] = authorEnd;
+            authorEnd += count;
+            kept++;
+        }
+        authorOffsets[kept] = authorEnd;
+        size = kept;
+        modCount++;
+        rebuildTable(table.length);
+        return compactDictionaries();
+    }
+
+    /**
+     * Rebuild each dictionary holding more than twice as many strings as
+     * the rows use, with only the strings in use. The ids keep their order,
+     * so the authors of each row stay in their order.
+     * @return true if the author dictionary was rebuilt
+     */
+    private boolean compactDictionaries() {
+        boolean[] usedTitles = new boolean[titleDictionary.size()];
+        for (int row = 0; row < size; row++) {
+            usedTitles[titleIds[row]] = true;
+        }
+        int[] titleMap = newIds(usedTitles);
+        if (titleMap != null) {
+            titleDictionary = copyUsed(titleDictionary, newStringStore(), titleMap);
+            for (int row = 0; row < size; row++) {
+                titleIds[row] = titleMap[titleIds[row]];
+            }
+        }
+
+        boolean[] usedAuthors = new boolean[authorDictionary.size()];
+        for (int i = 0; i < authorOffsets[size]; i++) {
+            usedAuthors[authorIds[i]] = true;
+        }
+        int[] authorMap = newIds(usedAuthors);
+        if (authorMap != null) {
+            authorDictionary = copyUsed(authorDictionary, newStringStore(), authorMap);
+            for (int i = 0; i < authorOffsets[size]; i++) {
+                authorIds[i] = authorMap[authorIds[i]];
+            }
+        }
+
+        boolean[] usedIsbns = new boolean[isbnDictionary.size()];
+        for (int row = 0; row < size; row++) {
+            if (isbns[row] < 0) {
+                usedIsbns[(int) (-isbns[row] - 1)] = true;
+            }
+        }
+        int[] isbnMap = newIds(usedIsbns);
+        if (isbnMap != null) {
+            isbnDictionary = copyUsed(isbnDictionary, new StringDictionary(), isbnMap);
+            for (int row = 0; row < size; row++) {
+                if (isbns[row] < 0) {
+                    isbns[row] = -(isbnMap[(int) (-isbns[row] - 1)] + 1L);
+                }
+            }
+        }
+        return authorMap != null;
+    }
+
+    /**
+     * Number the ids in use anew, if few enough of them are in use for
+     * their dictionary to be rebuilt.
+     * @param used marks the ids in use, one flag per string of the dictionary
+     * @return new id of each id in use and -1 for all others, or null if
+     * the dictionary is to be kept
+     */
+    private static int[] newIds(boolean[] used) {
+        int[] newIds = new int[used.length];
+        int count = 0;
+        for (int id = 0; id < used.length; id++) {
+            newIds[id] = used[id] ? count++ : -1;
+        }
+        return DICTIONARY_SLACK * count < used.length ? newIds : null;
+    }
+
+    /**
+     * Add the strings in use to a new dictionary, in the order of their ids.
+     * @param old dictionary to be rebuilt
+     * @param rebuilt new and empty dictionary
+     * @param newIds new id of each id in use and -1 for all others
+     * @return the rebuilt dictionary, handing out the given new ids
+     */
+    private static <T extends StringStore> T copyUsed(StringStore old, T rebuilt, int[] newIds) {
+        for (int id = 0; id < newIds.length; id++) {
+            if (newIds[id] != -1) {
+                rebuilt.add(old.get(id));
+            }
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Compare the given row with a book entry, field by field.
+     * @param row row to be compared
+     * @param entry book entry to be compared
+     * @return true if the row stores a book entry equal to the given one
+     */
+    private boolean rowEquals(int row, BookEntry entry) {
+        if (hashes[row] != entry.hashCode() || ratings[row] != entry.getRating()
+                || pages[row] != entry.getPages() || isbns[row] != packIsbn(entry.getISBN(), false)
+                || !titleDictionary.get(titleIds[row]).equals(entry.getTitle())) {
+            return false;
+        }
+        List<String> authors = entry.getAuthorList();
+        int from = authorOffsets[row];
+        if (authorOffsets[row + 1] - from != authors.size()) {
+            return false;
+        }
+        for (int i = 0; i < authors.size(); i++) {
+            if (!authorDictionary.get(authorIds[from + i]).equals(authors.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Make sure the columns have space for the given number of rows and authors.
+     * @param rows number of rows needed
+     * @param authors number of authors needed
+     */
+    private void ensureCapacity(int rows, int authors) {
+        if (rows > titleIds.length) {
+            int capacity = Math.max(rows, titleIds.length + (titleIds.length >> 1));
+            titleIds = Arrays.copyOf(titleIds, capacity);
+            ratings = Arrays.copyOf(ratings, capacity);
+            pages = Arrays.copyOf(pages, capacity);
+            isbns = Arrays.copyOf(isbns, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            authorOffsets = Arrays.copyOf(authorOffsets, capacity + 1);
+        }
+        if (authors > authorIds.length) {
+            authorIds = Arrays.copyOf(authorIds, Math.max(authors, authorIds.length + (authorIds.length >> 1)));
+        }
+    }
+
+    /**
+     * Recreate the hash table with the given number of slots and insert all rows.
+     * @param slots number of slots, must be a power of two larger than the size
+     */
+    private void rebuildTable(int slots) {
+        table = new int[slots];
+        for (int row = 0; row < size; row++) {
+            insertIntoTable(row);
+        }
+    }
+
+    /**
+     * Insert the given row into the hash table.
+     * @param row row to be inserted
+     */
+    private void insertIntoTable(int row) {
+        int mask = table.length - 1;
+        int slot = hashes[row] & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = row + 1;
+    }
+
+    /**
+     * Pack the given ISBN into a long. ISBNs consisting of up to 15 digits,
+     * optionally followed by an X, are stored as digit count, X flag and value,
+     * so that leading zeros are kept. All other ISBNs are stored in the ISBN
+     * dictionary and referenced by a negative value.
+     *
+     * @param isbn ISBN to be packed
+     * @param add true to add ISBNs which cannot be packed to the dictionary
+     * @return packed ISBN, or 0 if the ISBN is neither packable nor in the dictionary
+     */
+    private long packIsbn(String isbn, boolean add) {
+        boolean endsWithX = isbn.endsWith("X");
+        int digits = endsWithX ? isbn.length() - 1 : isbn.length();
+        long value = 0;
+        boolean packable = digits > 0 && digits <= MAX_PACKED_DIGITS;
+        for (int i = 0; i < digits && packable; i++) {
+            char current = isbn.charAt(i);
+            packable = current >= '0' && current <= '9';
+            value = value * 10 + (current - '0');
+        }
+        if (packable) {
+            return ((long) digits << PACKED_LENGTH_SHIFT) | (endsWithX ? PACKED_X_FLAG : 0) | value;
+        }
+        int id = add ? isbnDictionary.add(isbn) : isbnDictionary.find(isbn);
+        return -(id + 1L);
+    }
+
+    /**
+     * Restore the ISBN string from its packed form.
+     * @param packed packed ISBN
+     * @return ISBN as given when packing
+     */
+    private String unpackIsbn(long packed) {
+        if (packed < 0) {
+            return isbnDictionary.get((int) (-packed - 1));
+        }
+        int digits = (int) (packed >>> PACKED_LENGTH_SHIFT);
+        char[] isbn = new char[(packed & PACKED_X_FLAG) != 0 ? digits + 1 : digits];
+        long value = packed & PACKED_VALUE_MASK;
+        for (int i = digits - 1; i >= 0; i--) {
+            isbn[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        if (isbn.length > digits) {
+            isbn[digits] = 'X';
+        }
+        return new String(isbn);
+    }
+}
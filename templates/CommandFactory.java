@@ -35,6 +35,13 @@ public final class CommandFactory { // the final keyword prevents subclassing of
                 case SEARCH: return new SearchCmd(argumentInput);
                 case REMOVE: return new RemoveCmd(argumentInput);
                 case GROUP: return new GroupCmd(argumentInput);
+                case SAVE: return new SaveCmd(argumentInput);
+                case LOAD: return new LoadCmd(argumentInput);
+                case WATCH: return new WatchCmd(argumentInput);
+                case UNWATCH: return new UnwatchCmd(argumentInput);
+                case LOOKUP: return new LookupCmd(argumentInput);
+                case FILTER: return new FilterCmd(argumentInput);
+                case TOP: return new TopCmd(argumentInput);
                 default:
                     throw new IllegalArgumentException("Command type not supported: " + cmdType);
             }
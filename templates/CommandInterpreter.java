@@ -1,4 +1,7 @@
+import java.io.StringWriter;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Class responsible for creating library commands
@@ -9,9 +12,37 @@ public class CommandInterpreter {
     /** Delimiter between command keyword and corresponding argument. */
     private static final String COMMAND_ARGUMENT_DELIMITER = " ";
 
-    /** Create a CommandInterpreter instance. */
+    /**
+     * Commands whose output only depends on their argument and the book
+     * data, and which have no other effects. Their output is cached.
+     */
+    private static final Set<CommandType> CACHED_COMMANDS =
+        EnumSet.of(CommandType.SEARCH, CommandType.LIST, CommandType.GROUP,
+            CommandType.FILTER, CommandType.TOP);
+
+    /** Output of recently executed cacheable commands. */
+    private final ResultCache resultCache;
+
+    /** Create a CommandInterpreter instance with a default result cache. */
     public CommandInterpreter() {
-        // nothing to do
+        this(new ResultCache());
+    }
+
+    /**
+     * Create a CommandInterpreter instance.
+     * @param resultCache cache for the output of read-only commands
+     * @throws NullPointerException if the given cache is null
+     */
+    public CommandInterpreter(ResultCache resultCache) {
+        this.resultCache = Objects.requireNonNull(resultCache, "Given cache must not be null.");
+    }
+
+    /**
+     * Cache holding the output of read-only commands.
+     * @return result cache of this interpreter
+     */
+    public ResultCache getResultCache() {
+        return resultCache;
     }
 
     /**
@@ -41,17 +72,98 @@ public class CommandInterpreter {
     }
 
     /**
-     * Execute the given command.
+     * Execute the given command, writing its output to StdOut.
      * 
      * @param command Command to be executed.
      * @param data book data to be considered for command execution.
+     * @return true if the command succeeded, false if it reported an error
      * @throws NullPointerException If one of the given parameters is null.
      */
-    public void executeCommand(LibraryCommand command, LibraryData data) {
+    public boolean executeCommand(LibraryCommand command, LibraryData data) {
         Objects.requireNonNull(command, "Given command must not be null.");
         Objects.requireNonNull(data, "Given data must not be null.");
 
-        command.execute(data);
+        return executeCommand(command, data, CommandOutput.toStdOut());
+    }
+
+    /**
+     * Execute the given command, writing its output to the given destination.
+     * The command holds the matching lock of the book data while it runs,
+     * see LibraryCommand.executeLocked. The output is flushed once the
+     * command has finished.
+     *
+     * @param command Command to be executed.
+     * @param data book data to be considered for command execution.
+     * @param out receives the output of the command.
+     * @return true if the command succeeded, false if it reported an error
+     * @throws NullPointerException If one of the given parameters is null.
+     */
+    public boolean executeCommand(LibraryCommand command, LibraryData data, CommandOutput out) {
+        try {
+            return executeBuffered(command, data, out);
+        } finally {
+            out.flush();
+        }
+    }
+
+    /**
+     * Execute the given command like executeCommand, but leave its output
+     * in the buffer of the given destination. Used to flush the output of
+     * many commands at once.
+     *
+     * The output of SEARCH, LIST, GROUP, FILTER and TOP commands is cached
+     * and reused for commands of the same type and canonical argument as
+     * long as the version of the book data does not change. Only the
+     * output of successful commands is cached.
+     *
+     * @param command Command to be executed.
+     * @param data book data to be considered for command execution.
+     * @param out receives the output of the command.
+     * @return true if the command succeeded, false if it reported an error
+     * @throws NullPointerException If one of the given parameters is null.
+     */
+    public boolean executeBuffered(LibraryCommand command, LibraryData data, CommandOutput out) {
+        Objects.requireNonNull(command, "Given command must not be null.");
+        Objects.requireNonNull(data, "Given data must not be null.");
+        Objects.requireNonNull(out, "Given output must not be null.");
+
+        if (CACHED_COMMANDS.contains(command.getType())) {
+            return executeCached(command, data, out);
+        }
+        return command.executeLocked(data, out);
+    }
+
+    /**
+     * Execute a cacheable command, reusing its cached output if the book
+     * data has not changed since it was produced.
+     * @param command read-only command to be executed
+     * @param data book data to be considered for command execution
+     * @param out receives the output of the command
+     * @return true if the command succeeded, false if it reported an error
+     */
+    private boolean executeCached(LibraryCommand command, LibraryData data, CommandOutput out) {
+        String output;
+        boolean success = true;
+        data.readLock().lock();
+        try {
+            long version = data.getVersion();
+            output = resultCache.get(command.getType(), command.getCanonicalArgument(), data, version);
+            if (output == null) {
+                StringWriter captured = new StringWriter();
+                CommandOutput capturedOut = out.redirect(captured);
+                success = command.executeLocked(data, capturedOut);
+                capturedOut.flush();
+                output = captured.toString();
+                // failed commands run again, so that their errors are reported again
+                if (success) {
+                    resultCache.put(command.getType(), command.getCanonicalArgument(), data, version, output);
+                }
+            }
+        } finally {
+            data.readLock().unlock();
+        }
+        out.print(output);
+        return success;
     }
 
     /**
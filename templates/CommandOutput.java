@@ -0,0 +1,125 @@
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Destination for the console output of library commands.
+ *
+ * Output is collected in a large buffer and only handed to the
+ * underlying writer when the buffer is full or flush is called,
+ * which is done once after each command.
+ *
+ * Error reports are written to StdErr right away, unless the output
+ * was created to receive them as well, see withErrors.
+ */
+public class CommandOutput {
+
+    /** Size of the output buffer in characters. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Buffered writer all output is written to. */
+    private final PrintWriter writer;
+    /** Receives error reports, null to write them to StdErr. */
+    private final PrintWriter errorWriter;
+
+    /**
+     * Create a command output writing to the given writer.
+     *
+     * @param target writer receiving the output on flush
+     * @throws NullPointerException if the given writer is null
+     */
+    public CommandOutput(Writer target) {
+        this(buffered(target), null);
+    }
+
+    /**
+     * Create a command output.
+     * @param writer buffered writer receiving the output
+     * @param errorWriter receives error reports, null for StdErr
+     */
+    private CommandOutput(PrintWriter writer, PrintWriter errorWriter) {
+        this.writer = writer;
+        this.errorWriter = errorWriter;
+    }
+
+    /**
+     * Create a command output writing both its output and its error
+     * reports to the given writer, in the order they are written. Used
+     * to send error reports to the same remote client as the output.
+     *
+     * @param target writer receiving the output and error reports on flush
+     * @return command output also receiving error reports
+     * @throws NullPointerException if the given writer is null
+     */
+    public static CommandOutput withErrors(Writer target) {
+        PrintWriter writer = buffered(target);
+        return new CommandOutput(writer, writer);
+    }
+
+    /**
+     * Create a command output writing to the given writer, whose error
+     * reports go where the error reports of this output go.
+     *
+     * @param target writer receiving the output on flush
+     * @return command output sharing the error reports destination
+     * @throws NullPointerException if the given writer is null
+     */
+    public CommandOutput redirect(Writer target) {
+        return new CommandOutput(buffered(target), errorWriter);
+    }
+
+    /**
+     * Create a command output writing to the current standard output.
+     * @return command output for StdOut
+     */
+    public static CommandOutput toStdOut() {
+        return new CommandOutput(new OutputStreamWriter(System.out));
+    }
+
+    /**
+     * Write the given text.
+     * @param text text to be written
+     */
+    public void print(String text) {
+        writer.print(text);
+    }
+
+    /**
+     * Write the given text followed by a line break.
+     * @param line line to be written
+     */
+    public void println(String line) {
+        writer.println(line);
+    }
+
+    /**
+     * Report an error. Error reports are written to StdErr right away,
+     * or in order with the output if created by withErrors.
+     * @param line error report to be written
+     */
+    public void printError(String line) {
+        if (errorWriter == null) {
+            System.err.println(line);
+        } else {
+            errorWriter.println(line);
+        }
+    }
+
+    /** Write all buffered output to the underlying writer. */
+    public void flush() {
+        writer.flush();
+    }
+
+    /**
+     * Wrap the given writer into a buffered print writer.
+     * @param target writer receiving the output on flush
+     * @return buffered print writer without automatic flushing
+     * @throws NullPointerException if the given writer is null
+     */
+    private static PrintWriter buffered(Writer target) {
+        Objects.requireNonNull(target, "Given writer must not be null.");
+        return new PrintWriter(new BufferedWriter(target, BUFFER_SIZE), false);
+    }
+}
@@ -6,5 +6,12 @@ public enum CommandType {
     SEARCH,
     LIST,
     REMOVE,
-    GROUP
+    GROUP,
+    SAVE,
+    LOAD,
+    WATCH,
+    UNWATCH,
+    LOOKUP,
+    FILTER,
+    TOP
 }
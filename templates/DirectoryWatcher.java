@@ -0,0 +1,245 @@
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Watches a directory for book data files and merges new entries into
+ * a library as soon as they appear.
+ *
+ * For every CSV file in the directory the number of bytes already read is
+ * remembered, together with its file key, size and modification time.
+ * When a file grows, only the complete lines after that position are
+ * parsed, so appending to a file never causes the old lines to be read
+ * again. A file that was replaced, truncated or rewritten without
+ * changing its size is read again from the start. New entries are merged
+ * through LibraryData.mergeEntries, which discards duplicates, so reading
+ * a file again only adds the entries that are new.
+ *
+ * Parsing happens without holding any lock of the library, on the
+ * calling thread for the files found by start and on a daemon thread
+ * afterwards. Only merging the parsed entries excludes readers.
+ *
+ * Closing the watcher stops the background thread and waits for it, so
+ * no merge happens after close returns.
+ */
+public class DirectoryWatcher implements AutoCloseable {
+
+    /** File name ending of book data files. */
+    private static final String BOOK_DATA_SUFFIX = ".csv";
+
+    /** Library new entries are merged into. */
+    private final LibraryData data;
+    /** Watched directory. */
+    private final Path directory;
+    /** Receives the report of each merge in the background. */
+    private final CommandOutput out;
+    /** Notifies about changes in the directory. */
+    private final WatchService watchService;
+    /** State of each book data file when it was last read. Only used by the watching thread. */
+    private final Map<Path, FileState> states;
+    /** Thread waiting for and handling changes. */
+    private final Thread thread;
+
+    /**
+     * Create a watcher for the given directory. Watching starts with start.
+     *
+     * @param data library new entries are merged into
+     * @param directory directory to be watched
+     * @param out receives the report of each merge in the background
+     * @throws IOException if the directory cannot be watched
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public DirectoryWatcher(LibraryData data, Path directory, CommandOutput out) throws IOException {
+        this.data = Objects.requireNonNull(data, "Given data must not be null.");
+        this.directory = Objects.requireNonNull(directory, "Given directory must not be null.");
+        this.out = Objects.requireNonNull(out, "Given output must not be null.");
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        states = new HashMap<>();
+        thread = new Thread(this::watch, "watch " + directory);
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Watched directory.
+     * @return directory of this watcher
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Merge all book data files already in the directory and start
+     * watching for changes in the background.
+     * @param startOut receives the report of merging the files already in the directory
+     * @throws NullPointerException if the given output is null
+     */
+    public void start(CommandOutput startOut) {
+        Objects.requireNonNull(startOut, "Given output must not be null.");
+        ingestAll(startOut);
+        thread.start();
+    }
+
+    /**
+     * Stop watching the directory and wait until a merge in progress has finished.
+     * @throws IOException if closing the watch service fails
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        if (thread.isAlive() && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** Handle changes of the directory until the watcher is closed. */
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        ingestAll(out);
+                    } else {
+                        Path file = directory.resolve((Path) event.context());
+                        if (isBookData(file)) {
+                            if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                                states.remove(file);
+                            } else {
+                                ingest(file, out);
+                            }
+                        }
+                    }
+                }
+                if (!key.reset()) {
+                    out.printError("ERROR: Watched directory is no longer accessible: " + directory);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // watcher closed, nothing left to do
+        }
+    }
+
+    /**
+     * Merge the new lines of all book data files in the directory, in file name order.
+     * @param report receives the report of each merge
+     */
+    private void ingestAll(CommandOutput report) {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + BOOK_DATA_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        } catch (IOException | SecurityException e) {
+            report.printError("ERROR: Listing watched directory failed: " + directory + ": " + e.getMessage());
+            return;
+        }
+        files.sort(null);
+        for (Path file : files) {
+            ingest(file, report);
+        }
+    }
+
+    /**
+     * Parse the lines appended to the given file since it was last read
+     * and merge them into the library. The whole file is parsed again if
+     * it is not the file read last time, or was changed in place.
+     * @param file book data file in the watched directory
+     * @param report receives the report of the merge
+     */
+    private void ingest(Path file, CommandOutput report) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException | SecurityException e) {
+            // deleted or inaccessible, the delete event or the next change handles it
+            return;
+        }
+        if (!attributes.isRegularFile()) {
+            return;
+        }
+        FileState state = states.get(file);
+        if (state != null && state.isUnchanged(attributes)) {
+            return;
+        }
+        long position = state == null || state.isRewritten(attributes) ? 0 : state.position;
+        List<BookEntry> entries = new ArrayList<>();
+        long end = data.newFileLoader(report::printError).streamAppendedContent(file, position, entries::add);
+        if (end == -1) {
+            report.printError("ERROR: Loading book data failed for file: " + file);
+            return;
+        }
+        states.put(file, new FileState(attributes, end));
+        if (!entries.isEmpty()) {
+            int added = data.mergeEntries(entries, report);
+            report.println(added + " new book entries added from: " + file);
+            report.flush();
+        }
+    }
+
+    private static boolean isBookData(Path file) {
+        return file.getFileName().toString().endsWith(BOOK_DATA_SUFFIX);
+    }
+
+    /** Attributes of a book data file when it was last read, and the number of bytes read. */
+    private static final class FileState {
+
+        /** File key identifying the file, null if not supported by the file system. */
+        private final Object fileKey;
+        /** Size of the file in bytes. */
+        private final long size;
+        /** Last modification time of the file. */
+        private final FileTime lastModified;
+        /** Number of bytes read, up to the end of the last complete line. */
+        private final long position;
+
+        FileState(BasicFileAttributes attributes, long position) {
+            this.fileKey = attributes.fileKey();
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime();
+            this.position = position;
+        }
+
+        /**
+         * Whether the file still is the one last read and was not changed since.
+         * @param attributes current attributes of the file
+         * @return true if there is nothing new to read
+         */
+        boolean isUnchanged(BasicFileAttributes attributes) {
+            return Objects.equals(fileKey, attributes.fileKey()) && size == attributes.size()
+                && lastModified.equals(attributes.lastModifiedTime());
+        }
+
+        /**
+         * Whether the file was replaced, truncated or changed without growing,
+         * so that the bytes already read may have changed.
+         * @param attributes current attributes of the file
+         * @return true if the file has to be read from the start
+         */
+        boolean isRewritten(BasicFileAttributes attributes) {
+            return !Objects.equals(fileKey, attributes.fileKey()) || attributes.size() < position
+                || attributes.size() <= size && !lastModified.equals(attributes.lastModifiedTime());
+        }
+    }
+}
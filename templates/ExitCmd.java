@@ -19,10 +19,22 @@ public class ExitCmd extends LibraryCommand {
      * required for the exit command and does nothing.
      *
      * @param data book data to be considered for command execution.
+     * @param out receives the output of the command
+     * @return true
      */
     @Override
-    public void execute(LibraryData data) {
+    public boolean execute(LibraryData data, CommandOutput out) {
         // nothing to do here
+        return true;
     }
     
+
+    /**
+     * The exit command does not touch the book data.
+     * @return true
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -0,0 +1,158 @@
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Subclass of superclass Library Command
+ * Designed for selecting the books in Library whose rating and page count
+ lie in given ranges
+ */
+public class FilterCmd extends LibraryCommand {
+    /** Initialises Pattern PREDICATE.
+     * A single predicate such as "rating>=4.2" or "pages < 300" */
+    private static final Pattern PREDICATE =
+        Pattern.compile("\\s*(rating|pages)\\s*(<=|>=|<|>|=)\\s*([0-9.]+)\\s*", Pattern.CASE_INSENSITIVE);
+    /** Initialises float minRating.
+     * This is used to store the smallest rating all rating predicates accept */
+    private float minRating;
+    /** Initialises float maxRating.
+     * This is used to store the largest rating all rating predicates accept */
+    private float maxRating;
+    /** Initialises long minPages.
+     * This is used to store the smallest page count all pages predicates accept */
+    private long minPages;
+    /** Initialises long maxPages.
+     * This is used to store the largest page count all pages predicates accept */
+    private long maxPages;
+    /** Method FilterCmd
+     * Instantiates FilterCmd object with FILTER
+     from Command type enum and argumentInput
+     * Input Parameters
+     * @param argumentInput stores string from user input following "FILTER"
+     */
+    public FilterCmd(String argumentInput) {
+        super(CommandType.FILTER, argumentInput);
+    }
+    @Override//parseArguments
+    /** Method parseArguments
+     * Verifies argumentInput is valid before executing command
+     * 1. Checks if argument is Null and reports error if it is.
+     * 2. Starts with unbounded ranges for rating and pages
+     * 3. Reads one predicate after the other. The input is invalid if it is
+     blank or if anything but predicates is found
+     * 4. Narrows the range of the attribute of each predicate. Strict bounds
+     are turned into inclusive ones, so all predicates of one attribute
+     combine into a single range
+     * Input Parameters:
+     * @param argumentInput contains input from user
+     * Output Parameters:
+     * @return boolean used for verification of inputArgument
+     * Exceptions:
+     * @throws NullPointerException if argumentInput is empty*/
+    protected boolean parseArguments(String argumentInput) {
+        // 1.
+        Objects.requireNonNull(argumentInput);
+        // 2.
+        minRating = Float.NEGATIVE_INFINITY;
+        maxRating = Float.POSITIVE_INFINITY;
+        minPages = Integer.MIN_VALUE;
+        maxPages = Integer.MAX_VALUE;
+        // 3.
+        if (argumentInput.isBlank()) {
+            return false;
+        }
+        Matcher predicate = PREDICATE.matcher(argumentInput);
+        for (int position = 0; position < argumentInput.length(); position = predicate.end()) {
+            predicate.region(position, argumentInput.length());
+            if (!predicate.lookingAt()) {
+                return false;
+            }
+            // 4.
+            try {
+                if (predicate.group(1).equalsIgnoreCase("rating")) {
+                    narrowRating(predicate.group(2), Float.parseFloat(predicate.group(3)));
+                } else {
+                    narrowPages(predicate.group(2), Long.parseLong(predicate.group(3)));
+                }
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+    /** Method narrowRating
+     * Narrows the rating range by a single predicate
+     * Input Parameters:
+     * @param operator comparison operator of the predicate
+     * @param value rating the predicate compares with
+     */
+    private void narrowRating(String operator, float value) {
+        if (operator.startsWith(">")) {
+            minRating = Math.max(minRating, operator.equals(">") ? Math.nextUp(value) : value);
+        } else if (operator.startsWith("<")) {
+            maxRating = Math.min(maxRating, operator.equals("<") ? Math.nextDown(value) : value);
+        } else {
+            minRating = Math.max(minRating, value);
+            maxRating = Math.min(maxRating, value);
+        }
+    }
+    /** Method narrowPages
+     * Narrows the page range by a single predicate. Values beyond the
+     largest int are treated as one more than it, which no book can reach
+     * Input Parameters:
+     * @param operator comparison operator of the predicate
+     * @param pageCount page count the predicate compares with
+     */
+    private void narrowPages(String operator, long pageCount) {
+        long value = Math.min(pageCount, Integer.MAX_VALUE + 1L);
+        if (operator.startsWith(">")) {
+            minPages = Math.max(minPages, operator.equals(">") ? value + 1 : value);
+        } else if (operator.startsWith("<")) {
+            maxPages = Math.min(maxPages, operator.equals("<") ? value - 1 : value);
+        } else {
+            minPages = Math.max(minPages, value);
+            maxPages = Math.min(maxPages, value);
+        }
+    }
+    @Override//isReadOnly
+    /** Method isReadOnly: true, as filtering only reads ratings and page counts */
+    public boolean isReadOnly() {
+        return true;
+    }
+    @Override//execute
+    /** Method execute
+     * Executes FilterCmd Command on provided ranges
+     * 1. Checks if the library data provided is null
+     * 2. Gets the books in both ranges from the rating and page indexes of
+     the library data, in the order of the library. A page range beyond the
+     largest int cannot contain any book
+     * 3. Prints the title of every book found
+     * 4. If no books were found, the user is informed that no books match
+     the provided filter
+     * Input Parameters:
+     * @param data contains all the data from the library
+     * @param out receives the output of the command
+     * Output Parameters:
+     * @return true, filtering cannot fail
+     * Exceptions:
+     * @throws NullPointerException if data is null
+     */
+    public boolean execute(LibraryData data, CommandOutput out) {
+        // 1.
+        Objects.requireNonNull(data, "Given argument input must not be null.");
+        // 2.
+        List<BookEntry> booksFound = minPages > Integer.MAX_VALUE
+            ? List.of()
+            : data.filterBooks(minRating, maxRating, (int) minPages, (int) maxPages);
+        // 3.
+        for (BookEntry book : booksFound) {
+            out.println(book.getTitle());
+        }
+        // 4.
+        if (booksFound.isEmpty()) {
+            out.println("No books found for filter: " + getArgument());
+        }
+        return true;
+    }
+}
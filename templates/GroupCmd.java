@@ -1,5 +1,4 @@
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Subclass of superclass Library Command
@@ -48,6 +47,16 @@ public class GroupCmd extends LibraryCommand {
         }
         return validInput;
     }
+    @Override//getCanonicalArgument
+    /** Method getCanonicalArgument: the group type in lower case, as it is matched ignoring case */
+    public String getCanonicalArgument() {
+        return groupType.toLowerCase();
+    }
+    @Override//isReadOnly
+    /** Method isReadOnly: true, as grouping only prints the book data */
+    public boolean isReadOnly() {
+        return true;
+    }
     @Override//execute
     /** Method execute
      *  Executes GroupCmd Command on provided title/author
@@ -59,150 +68,120 @@ public class GroupCmd extends LibraryCommand {
      appropriate grouping function
      * Input Parameters:
      * @param data contains the library data
+     * @param out receives the output of the command
+     * Output Parameters:
+     * @return true, grouping cannot fail
      * Exceptions:
      * @throws NullPointerException if argumentInput is empty*/
-    public void execute(LibraryData data) {
+    public boolean execute(LibraryData data, CommandOutput out) {
         // 1.
         Objects.requireNonNull(data);
         // 2.
         if (data.getBookData().isEmpty()) {
-            System.out.println("The library has no book entries.");
+            out.println("The library has no book entries.");
         } else {
             if (groupType.toLowerCase().equals("title")) {
-                groupByTitle(data.getBookData());
+                groupByTitle(data.getBookData(), out);
             } else if (groupType.toLowerCase().equals("author")) {
-                groupByAuthor(data.getBookData());
+                groupByAuthor(data, out);
             }
         }
+        return true;
     }
     // -------------------- Grouping Functions -------------------- //
     /** Method groupByAuthor
      * Groups the books in the library in ascending order by author
      * 1. Prints "Grouped data by AUTHOR"
-     * 2. Gets list of authors in library in ascending order
-     * 3. Loops through authorsList
-     * 4. Using the stream function of ArrayLists, the list of type BookEntry,
-     booksFound, is assigned to all the books found that were written by
-     the given author
-     * 5. Prints out the Author and then using a loop, prints the contents of
-     booksFound hence printing the books written by the given author.
+     * 2. Loops through the author index of the library, which is already
+     sorted by author and contains the books of each author in library order
+     * 3. Prints out the Author and then using a loop, prints the titles
+     of the books written by the given author.
      * Input Parameters:
-     * @param books
+     * @param data contains the library data
+     * @param out receives the groups
      * Exceptions:
      * @throws NullPointerException if argumentInput is empty
      * */
-    public void groupByAuthor(List<BookEntry> books) {
+    public void groupByAuthor(LibraryData data, CommandOutput out) {
         // 1.
-        System.out.println("Grouped data by AUTHOR");
+        out.println("Grouped data by AUTHOR");
         // 2.
-        ArrayList<String> authorsList = getAuthors(books);
-        // 3.
-        for (String author : authorsList) {
-            // 4.
-            List<BookEntry> booksFound = books.stream()
-                                             .filter(book -> (Arrays.toString(book.getAuthors())).contains(author))
-                                             .collect(Collectors.toList());
-            // 5.
-            System.out.println ("## " + author);
-            for (BookEntry book : booksFound) {
-                System.out.println("\t" + book.getTitle());
-            }
+        for (Map.Entry<String, List<BookEntry>> group : data.getAuthorData().entrySet()) {
+            // 3.
+            printGroup(group.getKey(), group.getValue(), out);
         }
     }
-    /** Method getAuthors
-     * Gets a list of all the authors in the library
-     * 1. Creates a new list of Strings called authorsList
-     * 2. Loops through each book in the library, and adds their authors
-     to authorsList
-     * 3. Sorts, removes duplicates, casts it to type ArrayList and returns
-     authorsList
+    /** Method groupByTitle
+     * Groups the books in the library by the first character of their title
+     * 1. Prints "Grouped data by TITLE"
+     * 2. Loops through the books once, putting each book into the group for
+     the first character of its title. Letters are grouped by their upper
+     case version, digits are kept apart by digit so that they can be
+     printed in order, and all other characters end up in one group
+     * 3. Prints the letter groups in ascending order, each with the heading
+     of its letter followed by the titles in library order
+     * 4. If a title begins with a digit, prints the heading "[0-9]" followed by
+     the titles beginning with 0, then 1 and so on
+     * 5. If a title begins with any other character, prints the heading
+     "[Other]" followed by those titles
      * Input Parameters:
-     * @param books list of book entries obtained from library
-     * Output Parameters:
-     * @return String Arraylist authorlist which contains all authors
-    with books in the library in ascending order
-     */
-    public ArrayList<String> getAuthors (List<BookEntry> books) {
+     * @param books contains books from library
+     * @param out receives the groups
+     * Exceptions:
+     * @throws NullPointerException if argumentInput is empty
+     * */
+    public void groupByTitle (List<BookEntry> books, CommandOutput out) {
         // 1.
-        ArrayList<String> authorsList = new ArrayList<>();
+        out.println("Grouped data by TITLE");
         // 2.
+        SortedMap<Integer, List<BookEntry>> letterGroups = new TreeMap<>();
+        List<List<BookEntry>> digitGroups = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            digitGroups.add(new ArrayList<>());
+        }
+        List<BookEntry> otherGroup = new ArrayList<>();
+        boolean digitFound = false;
         for (BookEntry book : books) {
-            authorsList.addAll(Arrays.asList(book.getAuthors()));
+            String title = book.getTitle();
+            int first = title.isEmpty() ? -1 : title.codePointAt(0);
+            if (first >= '0' && first <= '9') {
+                digitGroups.get(first - '0').add(book);
+                digitFound = true;
+            } else if (first != -1 && Character.isLetter(first)) {
+                letterGroups.computeIfAbsent(Character.toUpperCase(first), letter -> new ArrayList<>()).add(book);
+            } else {
+                otherGroup.add(book);
+            }
         }
         // 3.
-        authorsList.sort(Comparator.comparing(String::toString));
-        return (ArrayList<String>) authorsList.stream().distinct().collect(Collectors.toList());
-    }
-    public void groupByTitle (List<BookEntry> books) {
-        System.out.println("Grouped data by TITLE");
-        /**
-         * Loops through each letter of the alphabet
-         * Creates a list of all the books found beginning with the current
-         letter
-         * If the following list of books found is not empty, the program will
-         print the letter with the books beginning with the letter from
-         the list*/
-        for (int i = 65; i < 90; i++) {
-            String strI = String.valueOf((char) i);
-            List<BookEntry> booksFound = (books.stream()
-                                              .filter(book -> book.getTitle().toUpperCase().startsWith(strI))
-                                              .collect(Collectors.toList()));
-            if (!booksFound.isEmpty()) {
-                System.out.println("## " + strI);
-                for (BookEntry book : booksFound) {
-                    System.out.println("\t" + book.getTitle());
-                }
-            }
+        for (Map.Entry<Integer, List<BookEntry>> group : letterGroups.entrySet()) {
+            printGroup(new String(Character.toChars(group.getKey())), group.getValue(), out);
         }
-        /**
-         * Uses checkDigit function to check if a book begins with a digit.
-         If true, the function will print the heading "[0-9] and execute the
-         following code:
-         * Loops through each number from 0-9
-         * Creates a list of all the books found beginning with the current
-         number
-         * If the following list of books found is not empty, the program will
-         print the letter with the books beginning with the letter from
-         the list*/
-        if (checkDigit(books)) {
-            System.out.println("## [0-9]");
-            for (int i = 0; i < 10; i++) {
-                String strInt = String.valueOf(i);
-                List<BookEntry> booksFound = (books.stream()
-                                                  .filter(book -> book.getTitle().toUpperCase().startsWith(strInt))
-                                                  .collect(Collectors.toList()));
-                if (!booksFound.isEmpty()) {
-                    for (BookEntry book : booksFound) {
-                        System.out.println("\t" + book.getTitle());
-                    }
+        // 4.
+        if (digitFound) {
+            out.println("## [0-9]");
+            for (List<BookEntry> digitGroup : digitGroups) {
+                for (BookEntry book : digitGroup) {
+                    out.println("\t" + book.getTitle());
                 }
             }
         }
-    }
-    /**
-     *
-     * @param books contains books from library
-     * @return boolean for if a book begins with a number
-     */
-    public boolean checkDigit (List<BookEntry> books) {
-        boolean digitFound = false;
-        for (int i = 0; i < 10; i++) {
-            if (digitFound(books, i)) {
-                digitFound = true;
-                break;
-            }
+        // 5.
+        if (!otherGroup.isEmpty()) {
+            printGroup("[Other]", otherGroup, out);
         }
-        return digitFound;
     }
-    public boolean digitFound (List<BookEntry> books, int i) {
-        boolean found = false;
-        String strI = String.valueOf(i);
+    /** Method printGroup
+     * Prints the heading of a group followed by the titles of its books
+     * Input Parameters:
+     * @param heading contains the heading of the group
+     * @param books contains the books in the group
+     * @param out receives the group
+     */
+    private void printGroup(String heading, List<BookEntry> books, CommandOutput out) {
+        out.println("## " + heading);
         for (BookEntry book : books) {
-            if (book.getTitle().toUpperCase().startsWith(strI)) {
-                found = true;
-                break;
-            }
+            out.println("\t" + book.getTitle());
         }
-        return found;
     }
-}
\ No newline at end of file
+}
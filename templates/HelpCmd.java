@@ -24,10 +24,22 @@ public class HelpCmd extends LibraryCommand {
      * and corresponding usage to the console.
      *
      * @param data book data to be considered for command execution.
-     */    
+     * @param out receives the output of the command
+     * @return true
+     */
+    @Override
+    public boolean execute(LibraryData data, CommandOutput out) {
+        out.println(helpOutput);
+        return true;
+    }
+
+    /**
+     * The help command does not touch the book data.
+     * @return true
+     */
     @Override
-    public void execute(LibraryData data) {       
-        System.out.println(helpOutput);
+    public boolean isReadOnly() {
+        return true;
     }
 
     private String buildHelpOutput() {
@@ -36,11 +48,18 @@ public class HelpCmd extends LibraryCommand {
 
         bld.append(padding).append(CommandType.HELP);
         bld.append(padding).append(CommandType.EXIT);
-        bld.append(padding).append(CommandType.ADD).append(" path/to/book/data.csv");
-        bld.append(padding).append(CommandType.LIST).append(" [short|long]");
+        bld.append(padding).append(CommandType.ADD).append(" path/to/book/data.csv|path/to/directory|path/to/*.csv");
+        bld.append(padding).append(CommandType.LIST).append(" [short|long] [page=<n>] [size=<n>] [cursor=<c>]");
         bld.append(padding).append(CommandType.SEARCH).append(" <value>");
-        bld.append(padding).append(CommandType.REMOVE).append(" TITLE|AUTHOR <value>");
+        bld.append(padding).append(CommandType.REMOVE).append(" TITLE|AUTHOR <value> or TITLES|AUTHORS <value>[|<value>...] or @path/to/terms.txt");
         bld.append(padding).append(CommandType.GROUP).append(" TITLE|AUTHOR");
+        bld.append(padding).append(CommandType.SAVE).append(" path/to/snapshot");
+        bld.append(padding).append(CommandType.LOAD).append(" path/to/snapshot");
+        bld.append(padding).append(CommandType.WATCH).append(" path/to/book/data/directory");
+        bld.append(padding).append(CommandType.UNWATCH).append(" path/to/book/data/directory");
+        bld.append(padding).append(CommandType.LOOKUP).append(" <isbn>");
+        bld.append(padding).append(CommandType.FILTER).append(" rating|pages<op><value> [...] with <op> one of < <= = >= >");
+        bld.append(padding).append(CommandType.TOP).append(" <k> rating|pages [asc|desc]");
 
         return bld.toString();
     }
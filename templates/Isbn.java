@@ -0,0 +1,192 @@
+import java.util.Objects;
+
+/**
+ * Parsing, validation and conversion of ISBNs.
+ *
+ * ISBNs are normalised to ISBN-13 and packed into a long holding the
+ * thirteen digits as a decimal number. ISBN-10s are converted by
+ * prefixing 978 and recomputing the check digit, so both forms of
+ * the same book lead to the same packed value.
+ */
+public final class Isbn {
+
+    /** Packed value of text that is not a valid ISBN. */
+    public static final long INVALID = -1;
+
+    /** Factor of the 978 or 979 prefix of a packed ISBN-13 without its check digit. */
+    private static final long PREFIX_FACTOR = 1_000_000_000L;
+
+    /** Prefix turning an ISBN-10 into an ISBN-13. */
+    private static final long BOOKLAND_PREFIX = 978;
+
+    /** Second prefix in use for ISBN-13s, without ISBN-10 equivalent. */
+    private static final long MUSICLAND_PREFIX = 979;
+
+    /** Not to be used. */
+    private Isbn() {
+        throw new UnsupportedOperationException("This constructor should never be used.");
+    }
+
+    /**
+     * Parse an ISBN-10 or ISBN-13 given by the user and pack it as ISBN-13.
+     *
+     * Hyphens and spaces are ignored. The ISBN must have exactly ten or
+     * thirteen digits, the check digit of an ISBN-10 may be X. No strings
+     * are created.
+     *
+     * @param text ISBN to be parsed
+     * @return packed ISBN-13, or INVALID if the text is not an ISBN with
+     * a valid check digit
+     * @throws NullPointerException if the given text is null
+     */
+    public static long parse(String text) {
+        Objects.requireNonNull(text, "Given text must not be null.");
+
+        return parse(text, false);
+    }
+
+    /**
+     * Parse an ISBN stored in the book data and pack it as ISBN-13.
+     *
+     * In contrast to parse, ISBNs with fewer than ten digits are padded
+     * with zeros at the front, as the book data stores ISBN-10s as
+     * numbers, dropping their leading zeros.
+     *
+     * @param text ISBN to be parsed
+     * @return packed ISBN-13, or INVALID if the text is not an ISBN with
+     * a valid check digit
+     * @throws NullPointerException if the given text is null
+     */
+    public static long parseStored(String text) {
+        Objects.requireNonNull(text, "Given text must not be null.");
+
+        return parse(text, true);
+    }
+
+    /**
+     * Parse an ISBN-10 or ISBN-13, see parse and parseStored.
+     * @param text ISBN to be parsed
+     * @param padded true to accept ISBN-10s with leading zeros dropped
+     * @return packed ISBN-13, or INVALID if the text is not a valid ISBN
+     */
+    private static long parse(String text, boolean padded) {
+        long digits = 0;
+        int count = 0;
+        boolean checkIsTen = false;
+        for (int i = 0; i < text.length(); i++) {
+            char current = text.charAt(i);
+            if (current == '-' || current == ' ') {
+                continue;
+            }
+            if (checkIsTen || count == 13) {
+                return INVALID;
+            }
+            if (current >= '0' && current <= '9') {
+                digits = digits * 10 + (current - '0');
+                count++;
+            } else if (current == 'X' || current == 'x') {
+                // only allowed as check digit of an ISBN-10
+                checkIsTen = true;
+            } else {
+                return INVALID;
+            }
+        }
+
+        if (checkIsTen) {
+            return count == 9 || padded && count < 9 ? fromIsbn10(digits, 10) : INVALID;
+        } else if (count == 13) {
+            long body = digits / 10;
+            long prefix = body / PREFIX_FACTOR;
+            boolean valid = (prefix == BOOKLAND_PREFIX || prefix == MUSICLAND_PREFIX)
+                && isbn13Check(body) == digits % 10;
+            return valid ? digits : INVALID;
+        } else if (count == 10 || padded && count > 0 && count < 10) {
+            return fromIsbn10(digits / 10, (int) (digits % 10));
+        }
+        return INVALID;
+    }
+
+    /**
+     * Format a packed ISBN as ISBN-13.
+     * @param isbn packed ISBN as returned by parse or parseStored
+     * @return thirteen digits of the ISBN
+     * @throws IllegalArgumentException if the given value is INVALID
+     */
+    public static String toIsbn13(long isbn) {
+        if (isbn == INVALID) {
+            throw new IllegalArgumentException("Not a valid ISBN.");
+        }
+        return Long.toString(isbn);
+    }
+
+    /**
+     * Format a packed ISBN as ISBN-10, if it has one.
+     * @param isbn packed ISBN as returned by parse or parseStored
+     * @return ten characters of the ISBN-10, or null if the ISBN does not
+     * start with 978 and has no ISBN-10 equivalent
+     * @throws IllegalArgumentException if the given value is INVALID
+     */
+    public static String toIsbn10(long isbn) {
+        if (isbn == INVALID) {
+            throw new IllegalArgumentException("Not a valid ISBN.");
+        }
+        long body = isbn / 10;
+        if (body / PREFIX_FACTOR != BOOKLAND_PREFIX) {
+            return null;
+        }
+        body %= PREFIX_FACTOR;
+        int check = isbn10Check(body);
+        StringBuilder formatted = new StringBuilder(10);
+        String digits = Long.toString(body);
+        for (int i = digits.length(); i < 9; i++) {
+            formatted.append('0');
+        }
+        formatted.append(digits).append(check == 10 ? 'X' : (char) ('0' + check));
+        return formatted.toString();
+    }
+
+    /**
+     * Validate an ISBN-10 and convert it to a packed ISBN-13.
+     * @param body first nine digits of the ISBN-10
+     * @param check check digit of the ISBN-10, 10 standing for X
+     * @return packed ISBN-13, or INVALID if the check digit is wrong
+     */
+    private static long fromIsbn10(long body, int check) {
+        if (isbn10Check(body) != check) {
+            return INVALID;
+        }
+        long body13 = BOOKLAND_PREFIX * PREFIX_FACTOR + body;
+        return body13 * 10 + isbn13Check(body13);
+    }
+
+    /**
+     * Compute the ISBN-10 check digit, weighting the digits from 10 down to 2.
+     * @param body first nine digits of the ISBN-10
+     * @return check digit, 10 standing for X
+     */
+    private static int isbn10Check(long body) {
+        int sum = 0;
+        long rest = body;
+        for (int weight = 2; weight <= 10; weight++) {
+            sum += weight * (int) (rest % 10);
+            rest /= 10;
+        }
+        return (11 - sum % 11) % 11;
+    }
+
+    /**
+     * Compute the ISBN-13 check digit, weighting the digits alternately with 1 and 3.
+     * @param body first twelve digits of the ISBN-13
+     * @return check digit
+     */
+    private static long isbn13Check(long body) {
+        int sum = 0;
+        long rest = body;
+        for (int position = 0; position < 12; position++) {
+            // the last digit of the body has weight 3
+            sum += (position % 2 == 0 ? 3 : 1) * (int) (rest % 10);
+            rest /= 10;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
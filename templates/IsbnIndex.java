@@ -0,0 +1,196 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Index from packed ISBNs to the rows of the book entries carrying them.
+ *
+ * Keys and rows are kept in a primitive open-addressing hash table with
+ * linear probing, so neither lookups nor updates box the ISBNs, and the
+ * index holds no book entries. Several rows may share an ISBN. They
+ * occupy separate slots of the same probe sequence and are returned in
+ * the order they were added.
+ */
+public class IsbnIndex {
+
+    /** Marks an empty slot. Never a packed ISBN, see Isbn.parse. */
+    private static final long EMPTY = 0;
+    /** Number of slots of a new index. Must be a power of two. */
+    private static final int INITIAL_CAPACITY = 1024;
+    /** Multiplier spreading the keys over the table (golden ratio). */
+    private static final long SPREAD = 0x9E3779B97F4A7C15L;
+    /** Result of lookups without any rows. */
+    private static final int[] NO_ROWS = new int[0];
+
+    /** Packed ISBN of each slot, or EMPTY. */
+    private long[] keys;
+    /** Row of each slot. */
+    private int[] rows;
+    /** Number of occupied slots. */
+    private int size;
+
+    /** Create a new and empty index. */
+    public IsbnIndex() {
+        keys = new long[INITIAL_CAPACITY];
+        rows = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Add the given row under its ISBN. Rows whose ISBN is not valid
+     * are not added. Rows have to be added in ascending order.
+     *
+     * @param isbn packed ISBN of the row, or Isbn.INVALID
+     * @param row row of the book entry in the library
+     * @return true if the row was added, false if its ISBN is invalid
+     */
+    public boolean add(long isbn, int row) {
+        if (isbn == Isbn.INVALID || isbn == EMPTY) {
+            return false;
+        }
+        // keep the load factor at or below one half
+        if (2 * (size + 1) > keys.length) {
+            resize(keys.length * 2);
+        }
+        int slot = slot(isbn);
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        keys[slot] = isbn;
+        rows[slot] = row;
+        size++;
+        return true;
+    }
+
+    /**
+     * Move all rows to the positions they take after rows were removed
+     * from the library. Rows moved to a negative position are deleted.
+     *
+     * Slots are visited once, starting behind an empty slot. Deleting a
+     * slot only moves rows of the same probe sequence back into it, which
+     * have not been visited yet, so the slot is visited again.
+     *
+     * @param newRows new position of each row, negative for removed rows
+     * @throws NullPointerException if the given array is null
+     */
+    public void remap(int[] newRows) {
+        Objects.requireNonNull(newRows, "Given rows must not be null.");
+        if (size == 0) {
+            return;
+        }
+
+        int mask = keys.length - 1;
+        int start = 0;
+        while (keys[start] != EMPTY) {
+            start++;
+        }
+        int visited = 0;
+        while (visited < keys.length) {
+            int slot = (start + visited) & mask;
+            if (keys[slot] != EMPTY && newRows[rows[slot]] < 0) {
+                deleteSlot(slot);
+            } else {
+                if (keys[slot] != EMPTY) {
+                    rows[slot] = newRows[rows[slot]];
+                }
+                visited++;
+            }
+        }
+    }
+
+    /**
+     * Find the rows of all book entries with the given ISBN.
+     *
+     * @param isbn packed ISBN as returned by Isbn.parse
+     * @return rows with the ISBN in ascending order, empty if there are none
+     */
+    public int[] get(long isbn) {
+        if (isbn == Isbn.INVALID || isbn == EMPTY) {
+            return NO_ROWS;
+        }
+        int[] found = NO_ROWS;
+        int mask = keys.length - 1;
+        for (int slot = slot(isbn); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == isbn) {
+                found = Arrays.copyOf(found, found.length + 1);
+                found[found.length - 1] = rows[slot];
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Number of book entries in the index.
+     * @return number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /** Remove all entries from the index. */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Home slot of the given key.
+     * @param key packed ISBN
+     * @return slot the probe sequence of the key starts at
+     */
+    private int slot(long key) {
+        return (int) ((key * SPREAD) >>> (64 - Integer.numberOfTrailingZeros(keys.length)));
+    }
+
+    /**
+     * Empty the given slot and move later entries of its probe sequence
+     * back, so that no lookup stops early at the emptied slot. Entries
+     * only move backwards, which keeps entries of the same ISBN in order.
+     *
+     * @param slot occupied slot to be emptied
+     */
+    private void deleteSlot(int slot) {
+        int mask = keys.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slot(keys[next]);
+            // move the entry into the gap unless its home lies between gap and next
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                rows[gap] = rows[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        size--;
+    }
+
+    /**
+     * Move all entries into a table with the given number of slots.
+     * Slots are visited starting behind an empty slot, so that each probe
+     * sequence is copied in order even if it wraps around the table end.
+     *
+     * @param capacity new number of slots, a power of two
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldRows = rows;
+        keys = new long[capacity];
+        rows = new int[capacity];
+
+        int start = 0;
+        while (oldKeys[start] != EMPTY) {
+            start++;
+        }
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            int old = (start + i) & (oldKeys.length - 1);
+            if (oldKeys[old] != EMPTY) {
+                int slot = slot(oldKeys[old]);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[old];
+                rows[slot] = oldRows[old];
+            }
+        }
+    }
+}
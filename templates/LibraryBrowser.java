@@ -1,3 +1,6 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Objects;
 import java.util.Scanner;
 
 /**
@@ -21,7 +24,16 @@ public class LibraryBrowser {
      * Create library browser.
      */
     public LibraryBrowser() {
-        data = new LibraryData();
+        this(StorageMode.OBJECTS);
+    }
+
+    /**
+     * Create library browser storing its book data in the given way.
+     * @param mode how the book data is stored
+     * @throws NullPointerException if the given mode is null
+     */
+    public LibraryBrowser(StorageMode mode) {
+        data = new LibraryData(mode);
         cmdIntrp = new CommandInterpreter();
         stdInScan = new Scanner(System.in);
     }
@@ -63,6 +75,62 @@ public class LibraryBrowser {
         }
     }
 
+    /**
+     * Run all commands of the given script without prompts.
+     *
+     * Each line holds one command. Blank lines and lines starting with
+     * '#' are skipped, an EXIT command ends the script. Command output is
+     * written to StdOut and flushed once at the end of the script. A line
+     * counts as failed if it is not a valid command, or if its command
+     * reports an error.
+     *
+     * @param script reader providing the command lines
+     * @param failFast true to stop at the first failed line
+     * @return true if no line failed, false otherwise
+     * @throws NullPointerException if the given script is null
+     */
+    public boolean runBatch(BufferedReader script, boolean failFast) {
+        Objects.requireNonNull(script, "Given script must not be null.");
+
+        CommandOutput out = CommandOutput.toStdOut();
+        boolean success = true;
+        try {
+            String inputLine;
+            int lineNumber = 0;
+            while ((inputLine = script.readLine()) != null) {
+                lineNumber++;
+                if (inputLine.isBlank() || inputLine.startsWith("#")) {
+                    continue;
+                }
+
+                LibraryCommand command = cmdIntrp.parseCommand(inputLine);
+                boolean lineSucceeded;
+                if (command == null) {
+                    System.err.println("ERROR: Given command input is invalid: " + inputLine);
+                    lineSucceeded = false;
+                } else if (command instanceof ExitCmd) {
+                    break;
+                } else {
+                    lineSucceeded = cmdIntrp.executeBuffered(command, data, out);
+                }
+
+                if (!lineSucceeded) {
+                    success = false;
+                    if (failFast) {
+                        System.err.println("ERROR: Batch stopped at line " + lineNumber + ".");
+                        break;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("ERROR: Reading command script failed: " + e.getMessage());
+            success = false;
+        } finally {
+            out.flush();
+        }
+        return success;
+    }
+
     /**
      * Display user command prompt and 
      * read corresponding input from StdIn.
@@ -1,4 +1,5 @@
 import java.util.Objects;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Super class for all commands which ties
@@ -9,6 +10,9 @@ public abstract class LibraryCommand {
 	/** This commands specific type. */
 	private CommandType type;
 
+	/** Argument input of this command without surrounding white space. */
+	private String argument;
+
 	/**
 	 * Create the specified command and initialise it with 
 	 * the given command argument.
@@ -22,6 +26,7 @@ public abstract class LibraryCommand {
 		Objects.requireNonNull(type, "Given type must not be null.");
 		Objects.requireNonNull(argumentInput, "Given argument input must not be null.");
 		this.type = type;
+		this.argument = argumentInput.strip();
 
 		if (!parseArguments(argumentInput)) {
 			throw new IllegalArgumentException("Invalid argument for " + type + " command: " + argumentInput);
@@ -36,14 +41,113 @@ public abstract class LibraryCommand {
 		return type;
 	}
 
+	/**
+	 * Argument of this command, without surrounding white space.
+	 * @return normalised argument input of this command
+	 */
+	public String getArgument() {
+		return argument;
+	}
+
+	/**
+	 * Argument of this command in canonical form. Commands of the same type
+	 * with the same canonical argument print the same output for the same
+	 * book data. In this default version, the argument without surrounding
+	 * white space.
+	 *
+	 * Subclasses whose arguments can be spelled in several ways, e.g. with
+	 * case-insensitive keywords, should override this method.
+	 *
+	 * @return canonical argument of this command
+	 */
+	public String getCanonicalArgument() {
+		return argument;
+	}
+
+	/**
+	 * Execute the specific command, writing its output to StdOut.
+	 *
+	 * The output is buffered and flushed once the command has finished.
+	 *
+	 * @param data book data to be considered for command execution.
+	 * @return true if the command succeeded, false if it reported an error
+	 * @throws NullPointerException if the given data is null.
+	 */
+	public boolean execute(LibraryData data) {
+		Objects.requireNonNull(data, "Given data must not be null.");
+
+		CommandOutput out = CommandOutput.toStdOut();
+		try {
+			return executeLocked(data, out);
+		} finally {
+			out.flush();
+		}
+	}
+
+	/**
+	 * Execute the specific command while holding the matching lock of the
+	 * given book data: the read lock for read-only commands, so that they
+	 * can run alongside each other, and the write lock for all others.
+	 * Commands which lock the book data themselves run without a lock.
+	 *
+	 * @param data book data to be considered for command execution.
+	 * @param out receives the output of the command.
+	 * @return true if the command succeeded, false if it reported an error
+	 * @throws NullPointerException if one of the given parameters is null.
+	 */
+	public final boolean executeLocked(LibraryData data, CommandOutput out) {
+		Objects.requireNonNull(data, "Given data must not be null.");
+		Objects.requireNonNull(out, "Given output must not be null.");
+
+		if (locksItself()) {
+			return execute(data, out);
+		}
+		Lock lock = isReadOnly() ? data.readLock() : data.writeLock();
+		lock.lock();
+		try {
+			return execute(data, out);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Does this command leave the book data unchanged? In this default
+	 * version, commands are expected to change the book data.
+	 *
+	 * Subclasses which only read the book data should override this method.
+	 *
+	 * @return true if the command never changes the book data
+	 */
+	public boolean isReadOnly() {
+		return false;
+	}
+
+	/**
+	 * Does this command take the locks of the book data itself? In this
+	 * default version, executeLocked takes them for the whole command.
+	 *
+	 * Subclasses reading files should override this method, so that the
+	 * files are read without a lock and other commands are only blocked
+	 * while the read entries are merged.
+	 *
+	 * @return true if executeLocked is to run the command without a lock
+	 */
+	public boolean locksItself() {
+		return false;
+	}
+
 	/**
 	 * Execute the specific command.
 	 *
 	 * Subclasses must override this method to specify corresponding behaviour.
+	 * Errors are reported on StdErr and signalled by the return value.
 	 *
 	 * @param data book data to be considered for command execution.
+	 * @param out receives the output of the command.
+	 * @return true if the command succeeded, false if it reported an error
 	 */
-	public abstract void execute(LibraryData data);
+	public abstract boolean execute(LibraryData data, CommandOutput out);
 
 	/**
 	 * Parses the given command arguments and initialised necessary
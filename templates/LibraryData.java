@@ -1,32 +1,419 @@
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 /**
  * Class responsible for handling currently loaded
  * book data and loading additional data from file.
+ *
+ * Any number of threads may read the book data at the same time, while
+ * changes are applied exclusively. Methods changing the book data hold
+ * the write lock, methods reading it hold the read lock. Callers working
+ * on the views returned by getBookData and getAuthorData should hold the
+ * read lock themselves, see LibraryCommand.executeLocked.
+ *
+ * The title, author and ISBN indexes refer to book entries by their row
+ * in the book list and never hold entries themselves. Entries are only
+ * created for the rows a query returns, so a columnar library keeps its
+ * book data in its columns. Removing entries moves the remaining rows,
+ * which is applied to these indexes in one pass.
  */
 public class LibraryData {
 
+    /** File size from which on book data files are loaded in parallel. */
+    private static final long PARALLEL_LOAD_THRESHOLD = 32L * 1024 * 1024;
+
+    /** Largest number of files parsed at the same time when loading many files. */
+    private static final int MAX_PARALLEL_FILES = Math.max(2, Runtime.getRuntime().availableProcessors());
+
     /** Currently loaded book data. */
     private final List<BookEntry> books;
 
-    /** Create a new and empty book library. */
+    /**
+     * Hash based identity index over the currently loaded book data.
+     * Used for constant time duplicate detection when merging entries.
+     * Built when first needed. Not used for columnar storage, which keeps
+     * its own hash table.
+     */
+    private final Set<BookEntry> bookIndex;
+
+    /** Trigram index over the titles of the currently loaded book data. */
+    private final TitleTrigramIndex titleIndex;
+
+    /**
+     * Rows of every author in the currently loaded book data. For columnar
+     * storage authors are identified by the ids of the author dictionary
+     * of the book list, otherwise by the ids of authorIds.
+     */
+    private final AuthorIndex authorIndex;
+
+    /**
+     * Ids of the author names in the author index for object storage.
+     * Rebuilt together with the author index once most of its names
+     * have no books left.
+     */
+    private StringDictionary authorIds;
+
+    /** Index from packed ISBN-13 to the rows of the currently loaded book data. */
+    private final IsbnIndex isbnIndex;
+
+    /**
+     * Sorted index from the ratings of the currently loaded book data to
+     * positions in the book list. Null until first needed, afterwards
+     * updated for appended and removed entries like the other indexes.
+     */
+    private SortedIntIndex ratingIndex;
+
+    /** Sorted index from page counts to positions in the book list, kept like the rating index. */
+    private SortedIntIndex pagesIndex;
+
+    /** Has the identity index been built? */
+    private boolean identityIndexed;
+
+    /**
+     * Have the title and author indexes been built? They are only built
+     * when first needed, so that a library which is never searched does
+     * not spend time and memory on them.
+     */
+    private boolean secondaryIndexed;
+
+    /** Has the ISBN index been built? Built when first needed, like the title and author indexes. */
+    private boolean isbnIndexed;
+
+    /**
+     * Version of the book data, increased whenever entries are added
+     * or removed. Guarded by the lock.
+     */
+    private long version;
+
+    /**
+     * Canonical author names shared by all book entries of this library
+     * for object storage. Names are dropped once no book entry of the
+     * library is written by them. Not used for columnar storage, whose
+     * book list keeps its own author dictionary. Names are only taken
+     * into it when entries are merged, so that they cannot be dropped
+     * by a concurrent removal in between. Guarded by the lock.
+     */
+    private AuthorDictionary authorNames;
+
+    /** Watchers merging new book data files into this library, by watched directory. */
+    private final Map<Path, DirectoryWatcher> watchers;
+
+    /** Guards the book data, see class comment. */
+    private final ReadWriteLock lock;
+
+    /**
+     * Guards building the title and author indexes, which readers
+     * may trigger concurrently while holding the read lock. Readers only
+     * ever build missing indexes, indexes are only invalidated by methods
+     * changing the book data while holding the write lock.
+     */
+    private final Object indexLock;
+
+    /** Create a new and empty book library storing one object per book. */
     public LibraryData() {
-        books = new ArrayList<>();
+        this(StorageMode.OBJECTS);
+    }
+
+    /**
+     * Create a new and empty book library.
+     * @param mode how the book data is stored
+     * @throws NullPointerException if the given mode is null
+     */
+    public LibraryData(StorageMode mode) {
+        Objects.requireNonNull(mode, "Given storage mode must not be null.");
+
+        if (mode == StorageMode.OBJECTS) {
+            books = new ArrayList<>();
+        } else {
+            books = new ColumnarBookList(mode == StorageMode.OFF_HEAP);
+        }
+        bookIndex = new HashSet<>();
+        titleIndex = new TitleTrigramIndex();
+        authorIndex = new AuthorIndex();
+        authorIds = new StringDictionary();
+        isbnIndex = new IsbnIndex();
+        authorNames = new AuthorDictionary();
+        watchers = new HashMap<>();
+        lock = new ReentrantReadWriteLock();
+        indexLock = new Object();
+    }
+
+    /**
+     * Lock to be held while reading the book data. Held by any number
+     * of readers at the same time.
+     * @return read lock of the book data
+     */
+    public Lock readLock() {
+        return lock.readLock();
+    }
+
+    /**
+     * Lock to be held while changing the book data. Excludes all other
+     * readers and writers.
+     * @return write lock of the book data
+     */
+    public Lock writeLock() {
+        return lock.writeLock();
+    }
+
+    /**
+     * Version of the book data. Every change of the book data leads to a
+     * new version, so results computed for one version stay valid as long
+     * as the version does not change.
+     * @return current version of the book data
+     */
+    public long getVersion() {
+        readLock().lock();
+        try {
+            return version;
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    /**
+     * Create a loader for book data files of this library. The author
+     * names are shared between the entries of the loader. They are only
+     * shared with the book data once the entries are merged, see
+     * mergeEntries, as the loader runs without holding a lock.
+     * Errors are reported on StdErr.
+     * @return new file loader
+     */
+    public LibraryFileLoader newFileLoader() {
+        return newFileLoader(line -> System.err.println(line));
+    }
+
+    /**
+     * Create a loader for book data files of this library, as with
+     * newFileLoader(), handing its error reports to the given consumer.
+     * @param errorReport receives each error report of the loader
+     * @return new file loader
+     * @throws NullPointerException if the given consumer is null
+     */
+    public LibraryFileLoader newFileLoader(Consumer<String> errorReport) {
+        return new LibraryFileLoader(new AuthorDictionary(), errorReport);
     }
 
     /**
      * Get all available book entries.
-     * @return available book entries
+     * @return unmodifiable view of the available book entries
      */
     public List<BookEntry> getBookData() {
-        return books;
+        return Collections.unmodifiableList(books);
+    }
+
+    /**
+     * Find all book entries whose title contains the given term,
+     * ignoring case.
+     *
+     * @param term search term
+     * @return matching book entries in library order
+     * @throws NullPointerException if the given term is null
+     */
+    public List<BookEntry> searchTitles(String term) {
+        Objects.requireNonNull(term, "Given term must not be null.");
+
+        readLock().lock();
+        try {
+            ensureSecondaryIndexed();
+            return entriesAt(titleIndex.search(term, this::titleAt, books.size()));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the book entries of all authors, sorted by author name.
+     * Entries of each author are given in library order. They are
+     * created when accessed, so the lists are only valid as long as
+     * the book data does not change.
+     * @return unmodifiable view of the book entries of each author
+     */
+    public SortedMap<String, List<BookEntry>> getAuthorData() {
+        readLock().lock();
+        try {
+            ensureSecondaryIndexed();
+            SortedMap<String, List<BookEntry>> byAuthor = new TreeMap<>();
+            for (int author = 0; author < authorIndex.idLimit(); author++) {
+                if (authorIndex.count(author) > 0) {
+                    byAuthor.put(authorName(author), new RowView(authorIndex.get(author)));
+                }
+            }
+            return Collections.unmodifiableSortedMap(byAuthor);
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    /**
+     * Find all book entries written by the given author.
+     *
+     * Only the entries of the author are looked up, no matter how many
+     * other books are in the library.
+     *
+     * @param author exact name of the author
+     * @return book entries of the author in library order
+     * @throws NullPointerException if the given author is null
+     */
+    public List<BookEntry> booksByAuthor(String author) {
+        Objects.requireNonNull(author, "Given author must not be null.");
+
+        readLock().lock();
+        try {
+            ensureSecondaryIndexed();
+            return entriesAt(authorIndex.get(authorId(author)));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    /**
+     * Find all book entries with the given ISBN.
+     *
+     * Answered by the ISBN index in constant time, no matter how many
+     * books are in the library. Entries whose ISBN is not valid cannot
+     * be found.
+     *
+     * @param isbn packed ISBN as returned by Isbn.parse
+     * @return book entries with the ISBN in library order
+     */
+    public List<BookEntry> lookupIsbn(long isbn) {
+        readLock().lock();
+        try {
+            ensureIsbnIndexed();
+            return entriesAt(isbnIndex.get(isbn));
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    /**
+     * Find all book entries whose rating and page count lie in the given
+     * ranges. All bounds are inclusive.
+     *
+     * Each bounded attribute is answered by a sorted index, so only the
+     * entries in its range are visited. If both attributes are bounded,
+     * the two selections are intersected.
+     *
+     * @param minRating smallest rating, negative infinity if not bounded
+     * @param maxRating largest rating, positive infinity if not bounded
+     * @param minPages smallest page count, Integer.MIN_VALUE if not bounded
+     * @param maxPages largest page count, Integer.MAX_VALUE if not bounded
+     * @return matching book entries in library order
+     */
+    public List<BookEntry> filterBooks(float minRating, float maxRating, int minPages, int maxPages) {
+        readLock().lock();
+        try {
+            ensureRangeIndexed();
+            boolean byRating = minRating != Float.NEGATIVE_INFINITY || maxRating != Float.POSITIVE_INFINITY;
+            boolean byPages = minPages != Integer.MIN_VALUE || maxPages != Integer.MAX_VALUE;
+
+            BitSet selected = new BitSet(books.size());
+            if (byRating) {
+                ratingIndex.select(ratingKey(Math.max(minRating, 0)), maxRating < 0 ? -1 : ratingKey(maxRating), selected);
+            }
+            if (byPages) {
+                BitSet inRange = byRating ? new BitSet(books.size()) : selected;
+                pagesIndex.select(minPages, maxPages, inRange);
+                if (byRating) {
+                    selected.and(inRange);
+                }
+            }
+            if (!byRating && !byPages) {
+                selected.set(0, books.size());
+            }
+
+            List<BookEntry> found = new ArrayList<>(selected.cardinality());
+            for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+                found.add(books.get(i));
+            }
+            return found;
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    /**
+     * Select the k best ranked book entries by rating or page count.
+     * See TopKSelector, the library is never sorted as a whole.
+     *
+     * @param k number of book entries to be selected
+     * @param byRating true to rank by rating, false to rank by page count
+     * @param descending true to rank the largest values first
+     * @return at most k book entries, best ranked first, ties ordered by ISBN
+     * @throws IllegalArgumentException if k is not positive
+     */
+    public List<BookEntry> topBooks(int k, boolean byRating, boolean descending) {
+        readLock().lock();
+        try {
+            return new TopKSelector(books, byRating, descending).select(k);
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all book entries written by the given author.
+     *
+     * Only the entries of the author are looked up, no matter how many
+     * other books are in the library.
+     *
+     * @param author exact name of the author
+     * @return number of book entries removed from the library
+     * @throws NullPointerException if the given author is null
+     */
+    public int removeAuthor(String author) {
+        Objects.requireNonNull(author, "Given author must not be null.");
+
+        writeLock().lock();
+        try {
+            ensureSecondaryIndexed();
+            int[] written = authorIndex.get(authorId(author));
+            if (written.length == 0) {
+                return 0;
+            }
+            boolean[] remove = new boolean[books.size()];
+            for (int row : written) {
+                remove[row] = true;
+            }
+            removeRows(remove);
+            return written.length;
+        } finally {
+            writeLock().unlock();
+        }
     }
 
     /**
      * Initiate book data loading for the given path.
+     *
+     * Small files are streamed, so the raw file content is never held in
+     * memory. Large files are parsed in parallel. In both cases the
+     * parsed entries are merged in file order afterwards.
+     * The loading report is written to StdOut.
+     *
      * @param libraryFile specified path to book data file
      * @return true if loading was successful, false otherwise
      * @throws NullPointerException if the given path is null
@@ -34,40 +421,746 @@ public class LibraryData {
     public boolean loadData(Path libraryFile) {
         Objects.requireNonNull(libraryFile, "Given file path must not be null.");
 
-        LibraryFileLoader loader = new LibraryFileLoader();
-        boolean success = loader.loadFileContent(libraryFile);
+        CommandOutput out = CommandOutput.toStdOut();
+        try {
+            return loadData(libraryFile, out);
+        } finally {
+            out.flush();
+        }
+    }
+
+    /**
+     * Initiate book data loading for the given path, choosing between
+     * streaming and parallel loading by file size as in loadData(Path).
+     *
+     * @param libraryFile specified path to book data file
+     * @param out receives the loading report
+     * @return true if loading was successful, false otherwise
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public boolean loadData(Path libraryFile, CommandOutput out) {
+        Objects.requireNonNull(libraryFile, "Given file path must not be null.");
 
-        if (success) {
-            List<BookEntry> loaded = loader.parseFileContent();
-            int added = mergeEntries(loaded);
-            System.out.println(added + " new book entries added.");
-        } else {
-            System.err.println("ERROR: Loading book data failed for file: " + libraryFile);
+        boolean parallel;
+        try {
+            parallel = Files.size(libraryFile) >= PARALLEL_LOAD_THRESHOLD;
+        } catch (IOException | SecurityException e) {
+            parallel = false;
         }
+        return loadData(libraryFile, parallel, out);
+    }
 
+    /**
+     * Initiate book data loading for the given path.
+     *
+     * The file is parsed without holding a lock of the library, the write
+     * lock is only taken to merge the parsed entries. Duplicate entries
+     * are reported in file order in both modes. If a line cannot be
+     * parsed, loading stops there. The entries before that line stay in
+     * the library and are counted in the report.
+     *
+     * @param libraryFile specified path to book data file
+     * @param parallel true to parse the file on all available cores, false
+     * to stream it on the calling thread
+     * @param out receives the loading report
+     * @return true if loading was successful, false otherwise
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public boolean loadData(Path libraryFile, boolean parallel, CommandOutput out) {
+        Objects.requireNonNull(libraryFile, "Given file path must not be null.");
+        Objects.requireNonNull(out, "Given output must not be null.");
+
+        LibraryFileLoader loader = newFileLoader(out::printError);
+        boolean readable = Files.isReadable(libraryFile);
+        List<BookEntry> entries = new ArrayList<>();
+        boolean success = parallel
+            ? loader.parallelFileContent(libraryFile, entries::add)
+            : loader.streamFileContent(libraryFile, entries::add);
+
+        mergeLoaded(libraryFile, entries, success, readable, out);
         return success;
     }
 
     /**
-     * Merge the list of book entries with the
-     * entries already loaded.
+     * Merge the entries parsed from a book data file and report the
+     * result. If parsing stopped early, the entries before the failing
+     * line are merged and counted all the same.
+     *
+     * @param libraryFile path of the book data file
+     * @param entries entries parsed from the file
+     * @param success true if the whole file was parsed
+     * @param readable true if the file could be read at all
+     * @param out receives the loading report
+     */
+    private void mergeLoaded(Path libraryFile, List<BookEntry> entries, boolean success, boolean readable,
+            CommandOutput out) {
+        int added = mergeEntries(entries, out);
+        if (success || readable) {
+            out.println(added + " new book entries added.");
+        }
+        if (!success) {
+            out.printError("ERROR: Loading book data failed for file: " + libraryFile);
+        }
+    }
+
+    /**
+     * Load the given book data files together.
      *
-     * Duplicate entries will be discarded (This requires .equals to be
-     * implemented for BookEntry).
+     * The files are parsed concurrently, with at most MAX_PARALLEL_FILES
+     * files at the same time. They are merged in sorted path order, so the
+     * library and the report of duplicates are the same as if the files
+     * were added one after the other in that order. Each file is merged as
+     * soon as it and all files before it have been parsed. A file that
+     * cannot be parsed completely is reported, and its entries before the
+     * failing line are merged, as with loadData(Path, CommandOutput).
      *
-     * @param loaded list of book entries to be merged with data already loaded
+     * @param libraryFiles paths of the book data files
+     * @param out receives the loading report of each file
+     * @return true if all files were loaded successfully, false otherwise
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public boolean loadData(List<Path> libraryFiles, CommandOutput out) {
+        Objects.requireNonNull(libraryFiles, "Given file paths must not be null.");
+        Objects.requireNonNull(out, "Given output must not be null.");
+
+        List<Path> sorted = new ArrayList<>(libraryFiles);
+        Collections.sort(sorted);
+        ExecutorService parsers = Executors.newFixedThreadPool(Math.min(MAX_PARALLEL_FILES, Math.max(1, sorted.size())));
+        try {
+            List<Future<ParsedFile>> parsed = new ArrayList<>();
+            for (Path file : sorted) {
+                parsed.add(parsers.submit(() -> parseFile(file)));
+            }
+
+            boolean success = true;
+            for (int i = 0; i < sorted.size(); i++) {
+                ParsedFile file = awaitParsed(parsed.get(i), sorted.get(i), out);
+                if (file == null) {
+                    success = false;
+                    continue;
+                }
+                file.errors.forEach(out::printError);
+                mergeLoaded(sorted.get(i), file.entries, file.success, file.readable, out);
+                success &= file.success;
+            }
+            return success;
+        } finally {
+            parsers.shutdownNow();
+        }
+    }
+
+    /**
+     * Stream the given book data file, collecting the error reports so
+     * that they can be written when the file is merged.
+     * @param libraryFile path of the book data file
+     * @return parsed entries and result of parsing the file
+     */
+    private ParsedFile parseFile(Path libraryFile) {
+        ParsedFile file = new ParsedFile(Files.isReadable(libraryFile));
+        file.success = newFileLoader(file.errors::add).streamFileContent(libraryFile, file.entries::add);
+        return file;
+    }
+
+    /**
+     * Wait for a file parsed in the background. If parsing failed with
+     * an exception, its cause is reported.
+     * @param parsed result of parsing the file
+     * @param libraryFile path of the book data file
+     * @param out receives the report of a failure
+     * @return parsed file or null if parsing failed with an exception
+     */
+    private static ParsedFile awaitParsed(Future<ParsedFile> parsed, Path libraryFile, CommandOutput out) {
+        try {
+            return parsed.get();
+        } catch (ExecutionException e) {
+            out.printError("ERROR: Loading book data failed for file: " + libraryFile + ": " + e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            out.printError("ERROR: Loading book data interrupted for file: " + libraryFile);
+            return null;
+        }
+    }
+
+    /** Entries parsed from a book data file in the background, with the error reports of parsing. */
+    private static final class ParsedFile {
+
+        /** Entries parsed before the end of the file or the first failing line. */
+        private final List<BookEntry> entries = new ArrayList<>();
+        /** Error reports of parsing, written when the file is merged. */
+        private final List<String> errors = new ArrayList<>();
+        /** Whether the file could be read at all. */
+        private final boolean readable;
+        /** Whether the whole file was parsed. */
+        private boolean success;
+
+        ParsedFile(boolean readable) {
+            this.readable = readable;
+        }
+    }
+
+    /**
+     * Merge the given book entries with the entries already loaded.
+     * Duplicate entries are discarded and reported, as with loadData.
+     * For object storage, the authors of the added entries are replaced
+     * by the canonical author names of the library.
+     *
+     * @param entries book entries to be merged, in the order they are to be added
+     * @param out receives the report of duplicate entries
      * @return number of book entries added to the library
+     * @throws NullPointerException if one of the given parameters is null
      */
-    private int mergeEntries(List<BookEntry> loaded) {
-        int count = 0;
-        for (BookEntry entry : loaded) {
-            if (!books.contains(entry)) {
-                books.add(entry);
-                count++;
+    public int mergeEntries(Collection<BookEntry> entries, CommandOutput out) {
+        Objects.requireNonNull(entries, "Given entries must not be null.");
+        Objects.requireNonNull(out, "Given output must not be null.");
+
+        writeLock().lock();
+        try {
+            ensureIdentityIndexed();
+            int firstRow = books.size();
+            int added = 0;
+            for (BookEntry entry : entries) {
+                if (mergeEntry(entry, out)) {
+                    added++;
+                }
+            }
+            if (added > 0) {
+                appendToRangeIndexes(firstRow);
+                version++;
+            }
+            return added;
+        } finally {
+            writeLock().unlock();
+        }
+    }
+
+    /**
+     * Merge all book data files in the given directory and keep merging
+     * new files and lines appended to existing files as they appear.
+     * See DirectoryWatcher. Reports of later merges are written to StdOut.
+     *
+     * @param directory directory to be watched
+     * @param out receives the report of starting to watch
+     * @return true if the directory is watched now, false if it was already
+     * watched or cannot be watched
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public boolean watchDirectory(Path directory, CommandOutput out) {
+        Objects.requireNonNull(directory, "Given directory must not be null.");
+        Objects.requireNonNull(out, "Given output must not be null.");
+
+        Path watched = directory.toAbsolutePath().normalize();
+        DirectoryWatcher watcher;
+        synchronized (watchers) {
+            if (watchers.containsKey(watched)) {
+                out.println("Already watching directory: " + watched);
+                return false;
+            }
+            try {
+                watcher = new DirectoryWatcher(this, watched, CommandOutput.toStdOut());
+            } catch (IOException | SecurityException | UnsupportedOperationException e) {
+                out.printError("ERROR: Watching directory failed: " + watched + ": " + e.getMessage());
+                return false;
+            }
+            watchers.put(watched, watcher);
+        }
+        out.println("Watching directory: " + watched);
+        out.flush();
+        watcher.start(out);
+        return true;
+    }
+
+    /**
+     * Stop watching the given directory, see watchDirectory. Entries
+     * already merged from the directory stay in the library.
+     *
+     * Must not be called while holding a lock of this library, as it
+     * waits for a merge of the watcher in progress.
+     *
+     * @param directory watched directory
+     * @param out receives the report of stopping to watch
+     * @return true if the directory was watched and is not watched anymore,
+     * false otherwise
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public boolean unwatchDirectory(Path directory, CommandOutput out) {
+        Objects.requireNonNull(directory, "Given directory must not be null.");
+        Objects.requireNonNull(out, "Given output must not be null.");
+
+        Path watched = directory.toAbsolutePath().normalize();
+        DirectoryWatcher watcher;
+        synchronized (watchers) {
+            watcher = watchers.remove(watched);
+        }
+        if (watcher == null) {
+            out.println("Not watching directory: " + watched);
+            return false;
+        }
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            out.printError("ERROR: Closing watcher failed: " + watched + ": " + e.getMessage());
+            return false;
+        }
+        out.println("Stopped watching directory: " + watched);
+        return true;
+    }
+
+    /**
+     * Save all book entries to a binary snapshot file.
+     *
+     * @param snapshotFile path of the snapshot file, replaced if it exists
+     * @param out receives the saving report
+     * @return true if saving was successful, false otherwise
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public boolean saveSnapshot(Path snapshotFile, CommandOutput out) {
+        Objects.requireNonNull(snapshotFile, "Given file path must not be null.");
+        Objects.requireNonNull(out, "Given output must not be null.");
+
+        readLock().lock();
+        try {
+            LibrarySnapshot.write(books, snapshotFile);
+            out.println(books.size() + " book entries saved.");
+            return true;
+        } catch (IOException | SecurityException e) {
+            out.printError("ERROR: Saving book data failed for file: " + snapshotFile + ": " + e.getMessage());
+            return false;
+        } finally {
+            readLock().unlock();
+        }
+    }
+
+    /**
+     * Replace all book entries with the entries of a binary snapshot file.
+     *
+     * The entries of a snapshot are free of duplicates, so they are
+     * taken over without duplicate checks. The library is left unchanged
+     * if the snapshot cannot be read.
+     *
+     * @param snapshotFile path of the snapshot file
+     * @param out receives the loading report
+     * @return true if loading was successful, false otherwise
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public boolean loadSnapshot(Path snapshotFile, CommandOutput out) {
+        Objects.requireNonNull(snapshotFile, "Given file path must not be null.");
+        Objects.requireNonNull(out, "Given output must not be null.");
+
+        // the loaded entries replace all entries, and with them all author names
+        AuthorDictionary loadedNames = new AuthorDictionary();
+        List<BookEntry> loaded;
+        try {
+            loaded = LibrarySnapshot.read(snapshotFile, loadedNames);
+        } catch (IOException | SecurityException e) {
+            out.printError("ERROR: Loading book data failed for file: " + snapshotFile + ": " + e.getMessage());
+            return false;
+        }
+
+        writeLock().lock();
+        try {
+            books.clear();
+            books.addAll(loaded);
+            if (!usesColumnarStorage()) {
+                authorNames = loadedNames;
+            }
+            invalidateIndexes();
+            version++;
+        } finally {
+            writeLock().unlock();
+        }
+        out.println(loaded.size() + " book entries loaded.");
+        return true;
+    }
+
+    /**
+     * Remove the given book entries from the library.
+     *
+     * All entries are removed in a single pass over the book data and
+     * the indexes are kept up to date.
+     *
+     * @param removed book entries to be removed
+     * @return number of book entries removed from the library
+     * @throws NullPointerException if the given collection is null
+     */
+    public int removeEntries(Collection<BookEntry> removed) {
+        Objects.requireNonNull(removed, "Given entries must not be null.");
+        if (removed.isEmpty()) {
+            return 0;
+        }
+
+        Set<BookEntry> removeSet = new HashSet<>(removed);
+        writeLock().lock();
+        try {
+            boolean[] remove = new boolean[books.size()];
+            int count = 0;
+            if (usesColumnarStorage()) {
+                // the columns find the row of each entry by hash
+                for (BookEntry entry : removeSet) {
+                    int row = books.indexOf(entry);
+                    if (row != -1) {
+                        remove[row] = true;
+                        count++;
+                    }
+                }
+            } else {
+                for (int row = 0; row < remove.length; row++) {
+                    if (removeSet.contains(books.get(row))) {
+                        remove[row] = true;
+                        count++;
+                    }
+                }
+            }
+            if (count > 0) {
+                removeRows(remove);
+            }
+            return count;
+        } finally {
+            writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the marked rows from the book data in a single pass and
+     * move the rows in the indexes to their new positions.
+     * Only called while holding the write lock.
+     *
+     * @param remove marks the rows to be removed, one flag per row
+     */
+    private void removeRows(boolean[] remove) {
+        int[] newRows = new int[remove.length];
+        int kept = 0;
+        for (int row = 0; row < remove.length; row++) {
+            newRows[row] = remove[row] ? -1 : kept++;
+        }
+
+        Set<String> removedAuthors = new HashSet<>();
+        boolean authorIdsChanged = false;
+        if (usesColumnarStorage()) {
+            authorIdsChanged = ((ColumnarBookList) books).removeRows(remove);
+        } else {
+            // rows only move towards the front, so each row is read before it is overwritten
+            for (int row = 0; row < remove.length; row++) {
+                if (remove[row]) {
+                    BookEntry book = books.get(row);
+                    bookIndex.remove(book);
+                    removedAuthors.addAll(book.getAuthorList());
+                } else if (newRows[row] != row) {
+                    books.set(newRows[row], books.get(row));
+                }
+            }
+            books.subList(kept, remove.length).clear();
+        }
+
+        if (secondaryIndexed) {
+            titleIndex.remap(newRows);
+            if (authorIdsChanged) {
+                rebuildAuthorIndex();
             } else {
-                System.out.println("Duplicate entry found for book: " + entry);
+                authorIndex.remap(newRows);
+            }
+            if (!usesColumnarStorage() && 2 * authorIndex.authorCount() < authorIds.size()) {
+                rebuildAuthorIndex();
+            }
+        }
+        if (isbnIndexed) {
+            isbnIndex.remap(newRows);
+        }
+        if (ratingIndex != null) {
+            ratingIndex.remap(newRows);
+            pagesIndex.remap(newRows);
+        }
+        pruneAuthorNames(removedAuthors);
+        version++;
+    }
+
+    /**
+     * Drop the canonical instances of the given author names unless an
+     * entry of the book data is still written by them. Only called while
+     * holding the write lock.
+     * @param candidates author names of removed book entries, changed by this method
+     */
+    private void pruneAuthorNames(Set<String> candidates) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        if (secondaryIndexed) {
+            candidates.removeIf(author -> authorIndex.count(authorId(author)) > 0);
+        } else {
+            for (int row = 0; row < books.size() && !candidates.isEmpty(); row++) {
+                candidates.removeAll(books.get(row).getAuthorList());
+            }
+        }
+        authorNames.removeAll(candidates);
+    }
+
+    /**
+     * Merge a single book entry with the entries already loaded.
+     * The indexes are expected to be up to date.
+     *
+     * Duplicate entries will be discarded (This requires .equals and
+     * .hashCode to be implemented for BookEntry).
+     *
+     * @param entry book entry to be merged with data already loaded
+     * @param out receives the report of duplicate entries
+     * @return true if the entry was added, false if it was a duplicate
+     */
+    private boolean mergeEntry(BookEntry entry, CommandOutput out) {
+        boolean isNew = usesColumnarStorage() ? !books.contains(entry) : bookIndex.add(entry);
+        if (isNew) {
+            int row = books.size();
+            if (!usesColumnarStorage()) {
+                entry.canonicalizeAuthors(authorNames);
+            }
+            books.add(entry);
+            if (secondaryIndexed) {
+                titleIndex.add(row, entry.getTitle());
+                addToAuthorIndex(row);
+            }
+            if (isbnIndexed) {
+                isbnIndex.add(Isbn.parseStored(entry.getISBN()), row);
+            }
+            return true;
+        }
+        out.println("Duplicate entry found for book: " + entry);
+        return false;
+    }
+
+    /**
+     * Add the given row to the rows of each of its authors.
+     * @param row row of the book data
+     */
+    private void addToAuthorIndex(int row) {
+        if (usesColumnarStorage()) {
+            ColumnarBookList columns = (ColumnarBookList) books;
+            for (int i = 0; i < columns.getAuthorCount(row); i++) {
+                authorIndex.add(columns.getAuthorId(row, i), row);
+            }
+        } else {
+            for (String author : books.get(row).getAuthorList()) {
+                authorIndex.add(authorIds.add(author), row);
+            }
+        }
+    }
+
+    /**
+     * Rebuild the author index, dropping the ids of authors without books for
+     * object storage, or after the columns handed out new author ids.
+     */
+    private void rebuildAuthorIndex() {
+        authorIndex.clear();
+        authorIds = new StringDictionary();
+        for (int row = 0; row < books.size(); row++) {
+            addToAuthorIndex(row);
+        }
+    }
+
+    /**
+     * Id of the given author in the author index.
+     * @param author exact name of the author
+     * @return id of the author, or -1 if the author is unknown
+     */
+    private int authorId(String author) {
+        return usesColumnarStorage() ? ((ColumnarBookList) books).findAuthor(author) : authorIds.find(author);
+    }
+
+    /**
+     * Name of the author with the given id in the author index.
+     * @param author id of the author
+     * @return name of the author
+     */
+    private String authorName(int author) {
+        return usesColumnarStorage() ? ((ColumnarBookList) books).getAuthorName(author) : authorIds.get(author);
+    }
+
+    /**
+     * Title of the book entry in the given row, read from the columns
+     * without creating the entry for columnar storage.
+     * @param row row of the book data
+     * @return title of the book entry
+     */
+    private String titleAt(int row) {
+        return usesColumnarStorage() ? ((ColumnarBookList) books).getTitle(row) : books.get(row).getTitle();
+    }
+
+    /**
+     * ISBN of the book entry in the given row, read like titleAt.
+     * @param row row of the book data
+     * @return ISBN of the book entry
+     */
+    private String isbnAt(int row) {
+        return usesColumnarStorage() ? ((ColumnarBookList) books).getISBN(row) : books.get(row).getISBN();
+    }
+
+    /**
+     * Book entries of the given rows, created from the book data.
+     * @param rows rows of the book data
+     * @return new list of the entries in the order of the rows
+     */
+    private List<BookEntry> entriesAt(int[] rows) {
+        List<BookEntry> entries = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            entries.add(books.get(row));
+        }
+        return entries;
+    }
+
+    /**
+     * Is the book data stored in columns?
+     * @return true if the book data is a ColumnarBookList
+     */
+    private boolean usesColumnarStorage() {
+        return books instanceof ColumnarBookList;
+    }
+
+    /**
+     * Make sure the identity index reflects the current book data.
+     * Only called while holding the write lock.
+     */
+    private void ensureIdentityIndexed() {
+        if (!identityIndexed) {
+            if (!usesColumnarStorage()) {
+                bookIndex.addAll(books);
             }
+            identityIndexed = true;
         }
-        return count;
+    }
+
+    /**
+     * Drop all indexes after the book data was replaced as a whole.
+     * They are rebuilt when next needed. Only called while holding
+     * the write lock.
+     */
+    private void invalidateIndexes() {
+        bookIndex.clear();
+        titleIndex.clear();
+        authorIndex.clear();
+        authorIds = new StringDictionary();
+        isbnIndex.clear();
+        ratingIndex = null;
+        pagesIndex = null;
+        identityIndexed = false;
+        secondaryIndexed = false;
+        isbnIndexed = false;
+    }
+
+    /**
+     * Make sure all indexes, including title and author index, reflect the current book data.
+     * Safe to be called by concurrent readers.
+     */
+    private void ensureSecondaryIndexed() {
+        synchronized (indexLock) {
+            if (!secondaryIndexed) {
+                for (int row = 0; row < books.size(); row++) {
+                    titleIndex.add(row, titleAt(row));
+                    addToAuthorIndex(row);
+                }
+                secondaryIndexed = true;
+            }
+        }
+    }
+
+    /**
+     * Make sure the ISBN index reflects the current book data.
+     * Safe to be called by concurrent readers.
+     */
+    private void ensureIsbnIndexed() {
+        synchronized (indexLock) {
+            if (!isbnIndexed) {
+                for (int row = 0; row < books.size(); row++) {
+                    isbnIndex.add(Isbn.parseStored(isbnAt(row)), row);
+                }
+                isbnIndexed = true;
+            }
+        }
+    }
+
+    /**
+     * Make sure the rating and page indexes reflect the current book data.
+     * Safe to be called by concurrent readers.
+     */
+    private void ensureRangeIndexed() {
+        synchronized (indexLock) {
+            if (ratingIndex == null) {
+                SortedIntIndex ratings = new SortedIntIndex(new int[0]);
+                SortedIntIndex pages = new SortedIntIndex(new int[0]);
+                appendRows(ratings, pages, 0);
+                ratingIndex = ratings;
+                pagesIndex = pages;
+            }
+        }
+    }
+
+    /**
+     * Add the rows appended from the given row on to the rating and page
+     * indexes, if they have been built. Only called while holding the
+     * write lock.
+     * @param firstRow first appended row
+     */
+    private void appendToRangeIndexes(int firstRow) {
+        if (ratingIndex != null) {
+            appendRows(ratingIndex, pagesIndex, firstRow);
+        }
+    }
+
+    /**
+     * Add the ratings and page counts of all rows from the given row on
+     * to the given indexes.
+     * @param ratings rating index
+     * @param pages page index
+     * @param firstRow first row to be added
+     */
+    private void appendRows(SortedIntIndex ratings, SortedIntIndex pages, int firstRow) {
+        int[] ratingKeys = new int[books.size() - firstRow];
+        int[] pageKeys = new int[ratingKeys.length];
+        ColumnarBookList columns = usesColumnarStorage() ? (ColumnarBookList) books : null;
+        for (int i = 0; i < ratingKeys.length; i++) {
+            int row = firstRow + i;
+            // read the columns directly, so that no book entries are created
+            BookEntry book = columns == null ? books.get(row) : null;
+            ratingKeys[i] = ratingKey(columns == null ? book.getRating() : columns.getRating(row));
+            pageKeys[i] = columns == null ? book.getPages() : columns.getPages(row);
+        }
+        ratings.append(ratingKeys, firstRow);
+        pages.append(pageKeys, firstRow);
+    }
+
+    /**
+     * Book entries of given rows, created from the book data when
+     * accessed. Only valid as long as the book data does not change.
+     */
+    private class RowView extends AbstractList<BookEntry> implements RandomAccess {
+
+        /** Rows of the book data in the view. */
+        private final int[] rows;
+
+        /**
+         * Create a view of the given rows.
+         * @param rows rows of the book data
+         */
+        RowView(int[] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public BookEntry get(int index) {
+            return books.get(rows[index]);
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+    }
+
+    /**
+     * Sort key of a rating. Ratings are never negative, so the bits of
+     * the float are ordered like the ratings themselves.
+     * @param rating rating, not negative
+     * @return key of the rating in the rating index
+     */
+    private static int ratingKey(float rating) {
+        // adding 0 turns -0.0 into 0.0
+        return Float.floatToIntBits(rating + 0.0f);
     }
 }
@@ -1,16 +1,33 @@
-import java.awt.print.Book;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Class responsible for loading
  * book data from file.
  */
 public class LibraryFileLoader {
+    /** Size of the buffer used to read from the file channel when streaming. */
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    /** Number of fields in a book data line. */
+    private static final int FIELD_COUNT = 5;
+    /** Smallest chunk size used when loading a file in parallel. */
+    private static final long MIN_CHUNK_SIZE = 4L * 1024 * 1024;
+    /** Largest chunk size used when loading a file in parallel. Must fit into a single mapping. */
+    private static final long MAX_CHUNK_SIZE = 256L * 1024 * 1024;
     /**
      * Contains all lines read from a book data file using
      * the loadFileContent method.
@@ -22,8 +39,41 @@ public class LibraryFileLoader {
      * end of each line.
      */
     private List<String> fileContent;
-    /** Create a new loader. No file content has been loaded yet. */
+    /** Canonical instances of the author names of all parsed entries. */
+    private final AuthorDictionary authorNames;
+    /** Receives the error reports of this loader. */
+    private final Consumer<String> errorReport;
+    /**
+     * Create a new loader. No file content has been loaded yet.
+     * Author names are shared between the entries parsed by this loader.
+     */
     public LibraryFileLoader() {
+        this(new AuthorDictionary());
+    }
+    /**
+     * Create a new loader whose entries share their author names with
+     * all other entries built from the given dictionary.
+     * No file content has been loaded yet.
+     *
+     * @param authorNames dictionary the author names of parsed entries are taken from
+     * @throws NullPointerException if the given dictionary is null
+     */
+    public LibraryFileLoader(AuthorDictionary authorNames) {
+        this(authorNames, line -> System.err.println(line));
+    }
+    /**
+     * Create a new loader whose entries share their author names with
+     * all other entries built from the given dictionary, and whose error
+     * reports are handed to the given consumer instead of StdErr.
+     * No file content has been loaded yet.
+     *
+     * @param authorNames dictionary the author names of parsed entries are taken from
+     * @param errorReport receives each error report as a single line
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public LibraryFileLoader(AuthorDictionary authorNames, Consumer<String> errorReport) {
+        this.authorNames = Objects.requireNonNull(authorNames, "Given dictionary must not be null.");
+        this.errorReport = Objects.requireNonNull(errorReport, "Given error report must not be null.");
         fileContent = null;
     }
     /**
@@ -44,7 +94,7 @@ public class LibraryFileLoader {
             fileContent = Files.readAllLines(fileName);
             success = true;
         } catch (IOException | SecurityException e) {
-            System.err.println("ERROR: Reading file content failed: " + e);
+            errorReport.accept("ERROR: Reading file content failed: " + e);
         }
         return success;
     }
@@ -83,15 +133,444 @@ public class LibraryFileLoader {
                  * Each element of the array is cast to the appropriate type while the object is
                  * instantiated*/
                 BookEntry currentEntry = new BookEntry(entryArray[0],
-                    authors,
+                    authorNames.canonicalize(authors),
                     Float.parseFloat(entryArray[2]),
                     entryArray[3],
                     Integer.parseInt(entryArray[4]));
                 newEntries.add(currentEntry);
             }
         } catch (Exception error) {
-            System.err.println("ERROR: No content loaded before parsing.");
+            errorReport.accept("ERROR: No content loaded before parsing.");
         }
         return newEntries;
     }
-}
\ No newline at end of file
+    /**
+     * Stream all book entries from the specified book data file to the given
+     * consumer.
+     *
+     * In contrast to loadFileContent and parseFileContent, no lines are kept
+     * in memory. The file is read through a buffered file channel and each line
+     * is parsed directly from its bytes, so memory use does not depend on the
+     * size of the file. The first line is expected to be the header and is skipped.
+     *
+     * If a line cannot be parsed, an error is printed and streaming stops.
+     * Entries handed to the consumer before that point are not revoked.
+     *
+     * @param fileName file path with book data
+     * @param consumer receives each parsed book entry in file order
+     * @return true if the whole file could be read and parsed, false otherwise
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public boolean streamFileContent(Path fileName, Consumer<BookEntry> consumer) {
+        Objects.requireNonNull(fileName, "Given filename must not be null.");
+        Objects.requireNonNull(consumer, "Given consumer must not be null.");
+
+        try (FileChannel channel = FileChannel.open(fileName, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(STREAM_BUFFER_SIZE);
+            LineParser parser = new LineParser(true, authorNames, consumer);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                boolean parsed = parser.feed(buffer);
+                buffer.clear();
+                if (!parsed) {
+                    parser.reportError(0, errorReport);
+                    return false;
+                }
+            }
+            if (!parser.finish()) {
+                parser.reportError(0, errorReport);
+                return false;
+            }
+            return true;
+        } catch (IOException | SecurityException e) {
+            errorReport.accept("ERROR: Reading file content failed: " + e);
+            return false;
+        }
+    }
+    /**
+     * Stream the book entries of all complete lines appended to the specified
+     * book data file since the given position to the given consumer.
+     *
+     * Only lines ending with a line break are read, so a line that is still
+     * being written is left for the next call. The header line is skipped if
+     * reading starts at the beginning of the file. If the file became shorter
+     * than the given position, it is assumed to have been replaced and is
+     * read from the beginning.
+     *
+     * @param fileName file path with book data
+     * @param position number of bytes of the file already read
+     * @param consumer receives each parsed book entry in file order
+     * @return position after the last complete line read, or -1 if the file
+     * could not be read or parsed
+     * @throws NullPointerException if one of the given parameters is null
+     * @throws IllegalArgumentException if the given position is negative
+     */
+    public long streamAppendedContent(Path fileName, long position, Consumer<BookEntry> consumer) {
+        Objects.requireNonNull(fileName, "Given filename must not be null.");
+        Objects.requireNonNull(consumer, "Given consumer must not be null.");
+        if (position < 0) {
+            throw new IllegalArgumentException("Position must not be negative: " + position);
+        }
+
+        try (FileChannel channel = FileChannel.open(fileName, StandardOpenOption.READ)) {
+            long start = channel.size() < position ? 0 : position;
+            long end = findLastLineEnd(channel, start);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(STREAM_BUFFER_SIZE);
+            LineParser parser = new LineParser(start == 0, authorNames, consumer);
+            for (long read = start; read < end; ) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - read));
+                int count = channel.read(buffer, read);
+                if (count == -1) {
+                    break;
+                }
+                read += count;
+                buffer.flip();
+                if (!parser.feed(buffer)) {
+                    parser.reportError(0, errorReport);
+                    return -1;
+                }
+            }
+            return end;
+        } catch (IOException | SecurityException e) {
+            errorReport.accept("ERROR: Reading file content failed: " + e);
+            return -1;
+        }
+    }
+    /**
+     * Find the position after the last line break of the file behind the
+     * given channel, searching backwards from the end of the file.
+     *
+     * @param channel channel of the file to be searched
+     * @param start position the search stops at
+     * @return position after the last line break, or start if there is
+     * no line break after start
+     * @throws IOException if reading from the channel fails
+     */
+    private long findLastLineEnd(FileChannel channel, long start) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(STREAM_BUFFER_SIZE);
+        long blockEnd = channel.size();
+        while (blockEnd > start) {
+            long blockStart = Math.max(start, blockEnd - probe.capacity());
+            probe.clear();
+            probe.limit((int) (blockEnd - blockStart));
+            int read = channel.read(probe, blockStart);
+            for (int i = read - 1; i >= 0; i--) {
+                byte current = probe.get(i);
+                if (current == '\n' || current == '\r') {
+                    return blockStart + i + 1;
+                }
+            }
+            blockEnd = blockStart;
+        }
+        return start;
+    }
+    /**
+     * Load all book entries from the specified book data file in parallel
+     * and hand them to the given consumer in file order.
+     *
+     * The file is memory-mapped and cut into chunks that end at line breaks.
+     * The chunks are parsed on the common fork-join pool and the results are
+     * passed on in the original order, so the consumer sees exactly the same
+     * sequence of entries as with streamFileContent.
+     *
+     * If a line cannot be parsed, an error is printed and all entries before
+     * that line are still passed to the consumer.
+     *
+     * @param fileName file path with book data
+     * @param consumer receives each parsed book entry in file order
+     * @return true if the whole file could be read and parsed, false otherwise
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public boolean parallelFileContent(Path fileName, Consumer<BookEntry> consumer) {
+        Objects.requireNonNull(fileName, "Given filename must not be null.");
+        Objects.requireNonNull(consumer, "Given consumer must not be null.");
+
+        List<ChunkResult> results;
+        try (FileChannel channel = FileChannel.open(fileName, StandardOpenOption.READ)) {
+            List<long[]> chunks = splitIntoChunks(channel);
+            results = chunks.parallelStream()
+                .map(chunk -> parseChunk(channel, chunk[0], chunk[1]))
+                .collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException | SecurityException e) {
+            errorReport.accept("ERROR: Reading file content failed: " + e);
+            return false;
+        }
+
+        int linesBefore = 0;
+        for (ChunkResult result : results) {
+            result.entries.forEach(consumer);
+            if (result.parser.hasError()) {
+                result.parser.reportError(linesBefore, errorReport);
+                return false;
+            }
+            linesBefore += result.parser.lineCount();
+        }
+        return true;
+    }
+    /**
+     * Cut the file behind the given channel into chunks of roughly equal size.
+     * Every chunk but the last ends directly after a line break.
+     *
+     * @param channel channel of the file to be split
+     * @return list of chunks, each given as start and end position
+     * @throws IOException if reading from the channel fails
+     */
+    private List<long[]> splitIntoChunks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, size / (parallelism * 4L)));
+
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(1024);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(size, start + chunkSize);
+            // move the end of the chunk behind the next line break
+            while (end < size) {
+                probe.clear();
+                int read = channel.read(probe, end);
+                int newline = -1;
+                for (int i = 0; i < read && newline == -1; i++) {
+                    if (probe.get(i) == '\n') {
+                        newline = i;
+                    }
+                }
+                if (newline != -1) {
+                    end += newline + 1;
+                    break;
+                }
+                end += Math.max(read, 0);
+            }
+            chunks.add(new long[]{start, Math.min(end, size)});
+            start = end;
+        }
+        return chunks;
+    }
+    /**
+     * Memory-map the given region of the file and parse all lines in it.
+     * Only the first chunk of a file contains the header line.
+     *
+     * @param channel channel of the file to be parsed
+     * @param start position of the first byte of the chunk
+     * @param end position after the last byte of the chunk
+     * @return entries parsed from the chunk and the parser state
+     * @throws UncheckedIOException if mapping the file fails
+     */
+    private ChunkResult parseChunk(FileChannel channel, long start, long end) {
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            List<BookEntry> entries = new ArrayList<>();
+            LineParser parser = new LineParser(start == 0, authorNames, entries::add);
+            if (parser.feed(buffer)) {
+                parser.finish();
+            }
+            return new ChunkResult(entries, parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    /**
+     * Parse a book entry from the UTF-8 encoded bytes of a single line.
+     *
+     * Fields are located by scanning for commas, so no intermediate line
+     * string or split arrays are created. Fields after the fifth are ignored
+     * and authors are separated by "-", as in parseFileContent.
+     *
+     * @param line buffer containing the line
+     * @param start index of the first byte of the line
+     * @param end index after the last byte of the line
+     * @param authorNames dictionary providing the canonical author names
+     * @return parsed book entry
+     * @throws IllegalArgumentException if the line is not a valid book entry
+     */
+    static BookEntry parseEntry(byte[] line, int start, int end, AuthorDictionary authorNames) {
+        int[] fieldEnds = new int[FIELD_COUNT];
+        int field = 0;
+        for (int i = start; i < end && field < FIELD_COUNT; i++) {
+            if (line[i] == ',') {
+                fieldEnds[field++] = i;
+            }
+        }
+        if (field < FIELD_COUNT - 1) {
+            throw new IllegalArgumentException("Expected " + FIELD_COUNT + " fields.");
+        }
+        if (field == FIELD_COUNT - 1) {
+            fieldEnds[field] = end;
+        }
+
+        int authorsStart = fieldEnds[0] + 1;
+        int ratingStart = fieldEnds[1] + 1;
+        int isbnStart = fieldEnds[2] + 1;
+        int pagesStart = fieldEnds[3] + 1;
+
+        return new BookEntry(decode(line, start, fieldEnds[0]),
+            authorNames.canonicalize(parseAuthors(line, authorsStart, fieldEnds[1])),
+            Float.parseFloat(decode(line, ratingStart, fieldEnds[2])),
+            decode(line, isbnStart, fieldEnds[3]),
+            parseInt(line, pagesStart, fieldEnds[4]));
+    }
+    /**
+     * Split the authors field at "-". As with String.split, trailing
+     * empty authors are dropped.
+     */
+    private static String[] parseAuthors(byte[] line, int start, int end) {
+        int count = 1;
+        for (int i = start; i < end; i++) {
+            if (line[i] == '-') {
+                count++;
+            }
+        }
+        if (count == 1) {
+            return new String[]{decode(line, start, end)};
+        }
+
+        String[] authors = new String[count];
+        int segmentStart = start;
+        int index = 0;
+        for (int i = start; i <= end; i++) {
+            if (i == end || line[i] == '-') {
+                authors[index++] = decode(line, segmentStart, i);
+                segmentStart = i + 1;
+            }
+        }
+        while (count > 0 && authors[count - 1].isEmpty()) {
+            count--;
+        }
+        return count == authors.length ? authors : Arrays.copyOf(authors, count);
+    }
+    /** Parse a decimal int without creating a string for plain digit sequences. */
+    private static int parseInt(byte[] line, int start, int end) {
+        if (end <= start || end - start > 9) {
+            return Integer.parseInt(decode(line, start, end));
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.parseInt(decode(line, start, end));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+    /** Decode the given byte range as UTF-8 string. */
+    private static String decode(byte[] line, int start, int end) {
+        return new String(line, start, end - start, StandardCharsets.UTF_8);
+    }
+    /** Entries parsed from a single chunk together with the parser that read them. */
+    private static final class ChunkResult {
+        private final List<BookEntry> entries;
+        private final LineParser parser;
+
+        private ChunkResult(List<BookEntry> entries, LineParser parser) {
+            this.entries = entries;
+            this.parser = parser;
+        }
+    }
+    /**
+     * Splits bytes into lines and parses each line into a book entry.
+     *
+     * Lines may end with \n, \r or \r\n and may span several calls to feed.
+     * Parsing stops at the first line that is not a valid book entry.
+     */
+    private static final class LineParser {
+        private final boolean skipHeader;
+        private final AuthorDictionary authorNames;
+        private final Consumer<BookEntry> consumer;
+        private byte[] line;
+        private int lineLength;
+        private int lineCount;
+        private boolean lastWasReturn;
+        private String error;
+
+        /**
+         * Create a line parser.
+         * @param skipHeader true if the first line is a header and should be skipped
+         * @param authorNames dictionary providing the canonical author names
+         * @param consumer receives each parsed book entry
+         */
+        private LineParser(boolean skipHeader, AuthorDictionary authorNames, Consumer<BookEntry> consumer) {
+            this.skipHeader = skipHeader;
+            this.authorNames = authorNames;
+            this.consumer = consumer;
+            line = new byte[256];
+        }
+
+        /**
+         * Parse all remaining bytes of the given buffer.
+         * @param buffer buffer with the next bytes of the book data
+         * @return false if a line could not be parsed, true otherwise
+         */
+        private boolean feed(ByteBuffer buffer) {
+            while (buffer.hasRemaining()) {
+                byte current = buffer.get();
+                if (current == '\n' && lastWasReturn) {
+                    // second half of a \r\n line break
+                    lastWasReturn = false;
+                } else if (current == '\n' || current == '\r') {
+                    lastWasReturn = current == '\r';
+                    if (!acceptLine()) {
+                        return false;
+                    }
+                } else {
+                    lastWasReturn = false;
+                    if (lineLength == line.length) {
+                        line = Arrays.copyOf(line, line.length * 2);
+                    }
+                    line[lineLength++] = current;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Parse the last line if it did not end with a line break.
+         * @return false if the line could not be parsed, true otherwise
+         */
+        private boolean finish() {
+            return lineLength == 0 || acceptLine();
+        }
+
+        /**
+         * Parse the current line and hand the resulting entry to the consumer.
+         * The header line and blank lines are skipped.
+         * @return true if the line was accepted, false if it could not be parsed
+         */
+        private boolean acceptLine() {
+            int length = lineLength;
+            boolean header = skipHeader && lineCount == 0;
+            lineLength = 0;
+            lineCount++;
+            if (header || length == 0) {
+                return true;
+            }
+            try {
+                consumer.accept(parseEntry(line, 0, length, authorNames));
+                return true;
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                error = e.getMessage();
+                return false;
+            }
+        }
+
+        /** @return true if parsing stopped at an invalid line */
+        private boolean hasError() {
+            return error != null;
+        }
+
+        /** @return number of lines read so far */
+        private int lineCount() {
+            return lineCount;
+        }
+
+        /**
+         * Report an error for the line parsing stopped at.
+         * @param linesBefore number of lines in the file before the parsed data
+         * @param errorReport receives the error report
+         */
+        private void reportError(int linesBefore, Consumer<String> errorReport) {
+            errorReport.accept("ERROR: Parsing book data failed in line " + (linesBefore + lineCount) + ": " + error);
+        }
+    }
+}
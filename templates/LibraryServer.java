@@ -0,0 +1,221 @@
+import java.io.BufferedReader;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Library server accepting commands from many clients at the same time.
+ *
+ * Clients connect via TCP on the loopback interface and send one command
+ * per line. The output and error reports of each command are sent back
+ * to the client that issued it, followed by a line containing only a
+ * single ".". Lines of the response starting with "." get another "."
+ * in front, as in SMTP, so they cannot be taken for the end of the
+ * response. Clients remove the first "." of such lines. An EXIT command
+ * closes the connection. All clients share the same book data,
+ * read-only commands of different clients run concurrently.
+ *
+ * Each connection is served on its own virtual thread if the runtime
+ * supports them, otherwise on a thread of a cached thread pool.
+ */
+public class LibraryServer implements AutoCloseable {
+
+    /** Line sent after the output of each command. */
+    public static final String END_OF_RESPONSE = ".";
+    /** Character marking the end of a response, doubled at the start of response lines. */
+    private static final char STUFFED_CHARACTER = '.';
+
+    /** Book data shared by all clients. */
+    private final LibraryData data;
+    /** Create and handle commands received from clients. */
+    private final CommandInterpreter cmdIntrp;
+    /** Socket accepting new client connections. */
+    private final ServerSocket serverSocket;
+    /** Runs one task per client connection. */
+    private final ExecutorService connections;
+    /** Open client connections, closed when the server is closed. */
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Create a server for the given book data, listening on the
+     * given port of the loopback interface.
+     *
+     * @param data book data shared by all clients
+     * @param port port to listen on, 0 to pick a free port
+     * @throws IOException if the port cannot be opened
+     * @throws NullPointerException if the given data is null
+     */
+    public LibraryServer(LibraryData data, int port) throws IOException {
+        this.data = Objects.requireNonNull(data, "Given data must not be null.");
+        cmdIntrp = new CommandInterpreter();
+        serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        connections = newConnectionExecutor();
+    }
+
+    /**
+     * Port the server is listening on.
+     * @return local port of the server socket
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accept client connections until the server is closed.
+     * Each connection is handed to its own thread. A connection
+     * accepted while the server is being closed is closed right away.
+     */
+    public void run() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                clients.add(client);
+                try {
+                    if (serverSocket.isClosed()) {
+                        throw new RejectedExecutionException("Server closed.");
+                    }
+                    connections.execute(() -> serve(client));
+                } catch (RejectedExecutionException e) {
+                    clients.remove(client);
+                    client.close();
+                }
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("ERROR: Accepting client connection failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop accepting connections and close all open connections.
+     * Closing the sockets ends the threads blocked reading the next
+     * command of their client, which an interrupt alone would not.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket client : clients) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                // closing anyway, nothing left to do for this client
+            }
+        }
+        connections.shutdownNow();
+        try {
+            connections.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Run the commands received from a single client until it sends
+     * EXIT or closes the connection.
+     * @param client connection to the client
+     */
+    private void serve(Socket client) {
+        try (Socket socket = client;
+             BufferedReader in = new BufferedReader(
+                 new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            Writer response = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            CommandOutput out = CommandOutput.withErrors(new DotStuffingWriter(response));
+            String inputLine;
+            while ((inputLine = in.readLine()) != null && !Thread.currentThread().isInterrupted()) {
+                LibraryCommand command = inputLine.isBlank() ? null : cmdIntrp.parseCommand(inputLine);
+                if (command == null) {
+                    out.printError("ERROR: Given command input is invalid: " + inputLine);
+                } else if (command instanceof ExitCmd) {
+                    break;
+                } else {
+                    try {
+                        cmdIntrp.executeBuffered(command, data, out);
+                    } catch (RuntimeException e) {
+                        out.printError("ERROR: Command failed: " + e.getMessage());
+                    }
+                }
+                out.flush();
+                // written past the dot-stuffing, as the only line of a response made of a single "."
+                response.write(END_OF_RESPONSE + System.lineSeparator());
+                response.flush();
+            }
+        } catch (IOException e) {
+            // connection lost, nothing left to serve
+        } finally {
+            clients.remove(client);
+        }
+    }
+
+    /**
+     * Create an executor running each task on a new virtual thread.
+     * Falls back to a cached thread pool on runtimes without virtual threads.
+     * @return executor for client connections
+     */
+    private static ExecutorService newConnectionExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Writer putting an additional "." in front of every line starting
+     * with ".", so that no line of a response can be taken for its end.
+     */
+    private static class DotStuffingWriter extends FilterWriter {
+
+        /** Is the next character the first of a line? */
+        private boolean lineStart = true;
+
+        DotStuffingWriter(Writer target) {
+            super(target);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            if (lineStart && c == STUFFED_CHARACTER) {
+                out.write(STUFFED_CHARACTER);
+            }
+            out.write(c);
+            lineStart = c == '\n';
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            int start = offset;
+            for (int i = offset; i < offset + length; i++) {
+                if (lineStart && chars[i] == STUFFED_CHARACTER) {
+                    out.write(chars, start, i - start);
+                    out.write(STUFFED_CHARACTER);
+                    start = i;
+                }
+                lineStart = chars[i] == '\n';
+            }
+            out.write(chars, start, offset + length - start);
+        }
+
+        @Override
+        public void write(String text, int offset, int length) throws IOException {
+            char[] chars = new char[length];
+            text.getChars(offset, offset + length, chars, 0);
+            write(chars, 0, length);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Reads and writes binary snapshots of the book data of a library.
+ *
+ * A snapshot starts with a magic number and a format version, followed
+ * by the author dictionary and the entries in library order. Authors
+ * are stored once and referenced by id. Entries are grouped into
+ * length-prefixed blocks that can be decoded independently. The entries of a snapshot are
+ * known to be free of duplicates, so they can be restored without
+ * parsing or duplicate checks.
+ */
+public final class LibrarySnapshot {
+
+    /** Marks the start of a snapshot file ("LIBS"). */
+    private static final int MAGIC = 0x4C494253;
+    /** Version of the snapshot format written by this class. */
+    private static final int VERSION = 1;
+    /** Size of the buffer used for writing. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /** Number of book entries per block, blocks are decoded in parallel. */
+    private static final int BLOCK_SIZE = 16 * 1024;
+
+    /** Not to be used. */
+    private LibrarySnapshot() {
+        throw new UnsupportedOperationException("This constructor should never be used.");
+    }
+
+    /**
+     * Write the given book entries to a snapshot file.
+     *
+     * The snapshot is written to a temporary file next to the given
+     * file, which is then atomically moved into place. An existing
+     * snapshot is therefore never left half written.
+     *
+     * @param books book entries to be saved, expected to be free of duplicates
+     * @param file path of the snapshot file, replaced if it exists
+     * @throws IOException if writing the file fails
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public static void write(List<BookEntry> books, Path file) throws IOException {
+        Objects.requireNonNull(books, "Given books must not be null.");
+        Objects.requireNonNull(file, "Given file must not be null.");
+
+        Map<String, Integer> authorIds = new HashMap<>();
+        List<String> authors = new ArrayList<>();
+        for (BookEntry book : books) {
+            for (String author : book.getAuthorList()) {
+                if (authorIds.putIfAbsent(author, authors.size()) == null) {
+                    authors.add(author);
+                }
+            }
+        }
+
+        Path target = file.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+        try {
+            writeSnapshot(books, authors, authorIds, temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Write the given book entries to a snapshot file.
+     * @param books book entries to be saved
+     * @param authors distinct authors of the entries in id order
+     * @param authorIds id of each author
+     * @param file path of the snapshot file
+     * @throws IOException if writing the file fails
+     */
+    private static void writeSnapshot(List<BookEntry> books, List<String> authors, Map<String, Integer> authorIds,
+            Path file) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(authors.size());
+            for (String author : authors) {
+                writeString(output, author);
+            }
+            output.writeInt(books.size());
+
+            ByteArrayOutputStream blockBytes = new ByteArrayOutputStream(BUFFER_SIZE);
+            DataOutputStream block = new DataOutputStream(blockBytes);
+            for (int first = 0; first < books.size(); first += BLOCK_SIZE) {
+                int last = Math.min(first + BLOCK_SIZE, books.size());
+                blockBytes.reset();
+                for (BookEntry book : books.subList(first, last)) {
+                    writeString(block, book.getTitle());
+                    List<String> bookAuthors = book.getAuthorList();
+                    block.writeInt(bookAuthors.size());
+                    for (String author : bookAuthors) {
+                        block.writeInt(authorIds.get(author));
+                    }
+                    block.writeFloat(book.getRating());
+                    writeString(block, book.getISBN());
+                    block.writeInt(book.getPages());
+                }
+                output.writeInt(last - first);
+                output.writeInt(blockBytes.size());
+                blockBytes.writeTo(output);
+            }
+        }
+    }
+
+    /**
+     * Read all book entries from a snapshot file.
+     *
+     * The file is mapped into memory and its blocks are decoded in
+     * parallel.
+     *
+     * @param file path of the snapshot file
+     * @return book entries in library order
+     * @throws IOException if reading the file fails or the file is not
+     * a snapshot of a supported version
+     * @throws NullPointerException if the given file is null
+     */
+    public static List<BookEntry> read(Path file) throws IOException {
+        return read(file, new AuthorDictionary());
+    }
+
+    /**
+     * Read all book entries from a snapshot file, taking the author
+     * names of the entries from the given dictionary.
+     *
+     * @param file path of the snapshot file
+     * @param authorNames dictionary providing the canonical author names
+     * @return book entries in library order
+     * @throws IOException if reading the file fails or the file is not
+     * a snapshot of a supported version
+     * @throws NullPointerException if one of the given parameters is null
+     */
+    public static List<BookEntry> read(Path file, AuthorDictionary authorNames) throws IOException {
+        Objects.requireNonNull(file, "Given file must not be null.");
+        Objects.requireNonNull(authorNames, "Given dictionary must not be null.");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Library snapshot too large: " + file);
+            }
+            ByteBuffer input = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (input.remaining() < 2 * Integer.BYTES || input.getInt() != MAGIC) {
+                throw new IOException("Not a library snapshot: " + file);
+            }
+            int version = input.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version: " + version);
+            }
+
+            String[] authors = new String[input.getInt()];
+            for (int i = 0; i < authors.length; i++) {
+                byte[] bytes = new byte[input.getInt()];
+                input.get(bytes);
+                authors[i] = authorNames.canonical(new String(bytes, StandardCharsets.UTF_8));
+            }
+
+            int count = input.getInt();
+            List<ByteBuffer> blocks = new ArrayList<>();
+            List<Integer> blockCounts = new ArrayList<>();
+            for (int read = 0; read < count; ) {
+                int blockCount = input.getInt();
+                int blockLength = input.getInt();
+                if (blockCount <= 0 || blockCount > count - read) {
+                    throw new IOException("Corrupt library snapshot: " + file);
+                }
+                ByteBuffer block = input.slice();
+                block.limit(blockLength);
+                input.position(input.position() + blockLength);
+                blocks.add(block);
+                blockCounts.add(blockCount);
+                read += blockCount;
+            }
+
+            List<List<BookEntry>> decoded = IntStream.range(0, blocks.size()).parallel()
+                .mapToObj(i -> readBlock(blocks.get(i), blockCounts.get(i), authors))
+                .collect(Collectors.toList());
+            List<BookEntry> books = new ArrayList<>(count);
+            for (List<BookEntry> block : decoded) {
+                books.addAll(block);
+            }
+            return books;
+        } catch (BufferUnderflowException | IllegalArgumentException
+                | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Corrupt library snapshot: " + file, e);
+        }
+    }
+
+    /**
+     * Decode the book entries of a single block.
+     * @param block bytes of the block
+     * @param count number of entries in the block
+     * @param authors author dictionary of the snapshot
+     * @return book entries of the block in library order
+     */
+    private static List<BookEntry> readBlock(ByteBuffer block, int count, String[] authors) {
+        byte[] bytes = new byte[block.remaining()];
+        block.get(bytes);
+        ByteBuffer input = ByteBuffer.wrap(bytes);
+
+        List<BookEntry> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String title = readString(input, bytes);
+            String[] bookAuthors = new String[input.getInt()];
+            for (int j = 0; j < bookAuthors.length; j++) {
+                bookAuthors[j] = authors[input.getInt()];
+            }
+            float rating = input.getFloat();
+            String isbn = readString(input, bytes);
+            int pages = input.getInt();
+            books.add(new BookEntry(title, bookAuthors, rating, isbn, pages));
+        }
+        return books;
+    }
+
+    /** Write a string as length followed by its UTF-8 bytes. */
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /** Read a string written by writeString from a buffer wrapping the given bytes. */
+    private static String readString(ByteBuffer input, byte[] bytes) {
+        int length = input.getInt();
+        int start = input.position();
+        input.position(start + length);
+        return new String(bytes, start, length, StandardCharsets.UTF_8);
+    }
+}
@@ -1,17 +1,43 @@
 import java.util.List;
 import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Subclass of superclass Library Command
  * Designed for listing books in library
  */
 public class ListCmd extends LibraryCommand {
+    /** Initialises int DEFAULT_PAGE_SIZE.
+     * Number of books on a page if no size is given */
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    /** Initialises Pattern PAGE_OPTION.
+     * A paging option such as "page=3", "size=50" or "cursor=1a-2s" */
+    private static final Pattern PAGE_OPTION = Pattern.compile("(page|size|cursor)=(\\S+)");
+    /** Initialises Pattern CURSOR.
+     * A cursor is the library version and the position of the next book, both in base 36 */
+    private static final Pattern CURSOR = Pattern.compile("([0-9a-z]+)-([0-9a-z]+)");
     /**
      * Initialises String listType
      * This is used to store what type of list the user wants
      * ("Long" or "Short")
      */
     private String listType;
+    /** Initialises int page.
+     * This is used to store the requested page, starting at 1, or 0 if
+     the whole library is listed or a cursor is given. A size without page
+     or cursor asks for the first page */
+    private int page;
+    /** Initialises int pageSize.
+     * This is used to store the number of books on a page */
+    private int pageSize;
+    /** Initialises long cursorVersion.
+     * This is used to store the library version a given cursor was printed for */
+    private long cursorVersion;
+    /** Initialises long cursorPosition.
+     * This is used to store the position of the next book of a continued
+     listing, or -1 if no cursor is given */
+    private long cursorPosition;
     /** Method ListCmd
      * Instantiates ListCmd object with LIST
      from Command type enum and argumentInput
@@ -25,11 +51,13 @@ public class ListCmd extends LibraryCommand {
     /** Method parseArguments
      * Verifies argumentInput is valid before executing command
      * 1. Checks if argument is Null and reports error if it is.
-     * 2. Assigns the boolean inputValid false for the input validity
+     * 2. Assigns the boolean inputValid false for the input validity, and
+     clears the paging options
      * 3. Checks if the user input is empty.
-     * 4. If 3. is false, then listType is assigned to search term converted
-     to lowercase, and listType (initialised above) is set to true if the
-     listType is "long" or "short"
+     * 4. If 3. is false, then the user input is converted to lowercase and split
+     at spaces. listType is assigned to the first part if it is "long" or "short",
+     otherwise to "list". All other parts have to be paging options, see
+     parsePageOption, and validInput is set to true if they are
      * 5. If the user input was blank, listType is set to "list" and validInput
      is set to true.
      * 6. If 4 or 5 are true, then the input is valid.
@@ -44,11 +72,28 @@ public class ListCmd extends LibraryCommand {
         Objects.requireNonNull(argumentInput);
         // 2.
         boolean validInput = false;
+        page = 0;
+        pageSize = 0;
+        cursorPosition = -1;
         // 3.
         if (!argumentInput.isBlank()) {
             // 4.
-            listType = argumentInput.toLowerCase();
-            validInput = listType.equals("short") || listType.equals("long");
+            String[] parts = argumentInput.trim().toLowerCase().split("\\s+");
+            int first = 0;
+            listType = "list";
+            if (parts[0].equals("short") || parts[0].equals("long")) {
+                listType = parts[0];
+                first = 1;
+            }
+            validInput = true;
+            for (int i = first; i < parts.length && validInput; i++) {
+                validInput = parsePageOption(parts[i]);
+            }
+            // a cursor continues a listing and cannot be combined with a page
+            validInput = validInput && !(cursorPosition >= 0 && page > 0);
+            if (pageSize > 0 && cursorPosition < 0 && page == 0) {
+                page = 1;
+            }
             // 5.
         } else if (argumentInput.replace(" ", "").toLowerCase().isBlank()) {
             listType = "list";
@@ -57,6 +102,50 @@ public class ListCmd extends LibraryCommand {
         // 6.
         return validInput;
     }
+    /** Method parsePageOption
+     * Reads a single paging option, "page=<n>", "size=<n>" or "cursor=<c>".
+     Pages and sizes have to be positive and every option may only be given once
+     * Input Parameters:
+     * @param option contains the option in lowercase
+     * Output Parameters:
+     * @return true if the option is valid
+     */
+    private boolean parsePageOption(String option) {
+        Matcher matcher = PAGE_OPTION.matcher(option);
+        if (!matcher.matches()) {
+            return false;
+        }
+        String value = matcher.group(2);
+        try {
+            if (matcher.group(1).equals("page") && page == 0) {
+                page = Integer.parseInt(value);
+                return page > 0;
+            } else if (matcher.group(1).equals("size") && pageSize == 0) {
+                pageSize = Integer.parseInt(value);
+                return pageSize > 0;
+            } else if (matcher.group(1).equals("cursor") && cursorPosition < 0) {
+                Matcher parts = CURSOR.matcher(value);
+                if (parts.matches()) {
+                    cursorVersion = Long.parseLong(parts.group(1), 36);
+                    cursorPosition = Long.parseLong(parts.group(2), 36);
+                    return true;
+                }
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return false;
+    }
+    @Override//getCanonicalArgument
+    /** Method getCanonicalArgument: the options in lower case with single spaces, as they are parsed that way */
+    public String getCanonicalArgument() {
+        return String.join(" ", getArgument().toLowerCase().split("\\s+"));
+    }
+    @Override//isReadOnly
+    /** Method isReadOnly: true, as listing only prints the book data */
+    public boolean isReadOnly() {
+        return true;
+    }
     @Override//execute
     /** Method execute
      *  Executes ListCmd Command on provided listType
@@ -64,47 +153,110 @@ public class ListCmd extends LibraryCommand {
      * 2. Checks if there are any books in the library. If is empty,
      the appropriate message will be printed, if not then the else code
      run
-     *3. Runs printBooks function, passing in the books from the library data
+     *3. Runs printBooks function, passing in the books from the library data,
+     or printPage if a page or cursor was given
      * @param data contains all the library data
+     * @param out receives the output of the command
+     * @return true, listing cannot fail
      * @throws NullPointerException if argumentInput is empty
      * */
-    public void execute(LibraryData data) {
+    public boolean execute(LibraryData data, CommandOutput out) {
         // 1.
         Objects.requireNonNull(data, "Given input argument must not be null.");
         // 2.
         if (data.getBookData().isEmpty()) {
-            System.out.println("The library has no books");
+            out.println("The library has no books");
         } else {
             // 3.
-            printBooks(data.getBookData());
+            if (page > 0 || cursorPosition >= 0) {
+                printPage(data, out);
+            } else {
+                printBooks(data.getBookData(), out);
+            }
         }
+        return true;
     }
     /** Method printBooks
      * Prints books in a List of bookEntries
      * 1. Prints number of books in the library
-     * 2. Starts loop through books
-     * 3. If the listType variable is equal to "short" or "list", then the
-     method will print out all the titles of the books in the library
-     * 4. If the listType variable is equal to "long", then the
-     method will use the toString method of the BookEntry class
-     to print all the books
+     * 2. Prints all books with printEntries
      * Input parameters:
      * @param books contains a list of book entries
+     * @param out receives the printed books
      * Input Exceptions
      * @throws NullPointerException if argumentInput is empty
      */
-    public void printBooks (List<BookEntry> books){
+    public void printBooks (List<BookEntry> books, CommandOutput out){
         // 1.
-        System.out.println(books.size() + " books in library:");
+        out.println(books.size() + " books in library:");
         // 2.
+        printEntries(books, out);
+    }
+    /** Method printPage
+     * Prints a single page of the books in the library
+     * 1. Works out the position of the first book on the page, either from
+     the page number or from the cursor. A cursor is only valid as long as the
+     library has not changed since it was printed
+     * 2. Informs the user if the page starts after the last book
+     * 3. Takes the books of the page from the book list as a view, which is
+     reached directly without going through the books before it, and prints
+     them in the same format as the whole list
+     * 4. If there are more books, prints the command continuing the listing
+     * Input parameters:
+     * @param data contains all the library data
+     * @param out receives the printed books
+     */
+    private void printPage(LibraryData data, CommandOutput out) {
+        List<BookEntry> books = data.getBookData();
+        long version = data.getVersion();
+        int size = pageSize > 0 ? pageSize : DEFAULT_PAGE_SIZE;
+        // 1.
+        long from = (long) (page - 1) * size;
+        if (cursorPosition >= 0) {
+            if (cursorVersion != version) {
+                out.println("The library has changed since this cursor was printed. Please list again from page 1.");
+                return;
+            }
+            from = cursorPosition;
+        }
+        // 2.
+        if (from >= books.size()) {
+            out.println("No books on this page, there are " + books.size() + " books in library.");
+            return;
+        }
+        // 3.
+        int to = (int) Math.min(books.size(), from + size);
+        out.println("Books " + (from + 1) + " to " + to + " of " + books.size() + " in library:");
+        printEntries(books.subList((int) from, to), out);
+        // 4.
+        if (to < books.size()) {
+            String next = Long.toString(version, 36) + "-" + Integer.toString(to, 36);
+            out.println("More books: LIST " + (listType.equals("list") ? "" : listType + " ")
+                + "cursor=" + next + " size=" + size);
+        }
+    }
+    /** Method printEntries
+     * Prints the given books
+     * 1. Starts loop through books
+     * 2. If the listType variable is equal to "short" or "list", then the
+     method will print out the title of each book
+     * 3. If the listType variable is equal to "long", then the
+     method will use the toString method of the BookEntry class
+     to print each book
+     * Input parameters:
+     * @param books contains a list of book entries
+     * @param out receives the printed books
+     */
+    private void printEntries(List<BookEntry> books, CommandOutput out) {
+        // 1.
         for (BookEntry book : books) {
-            //3.
+            // 2.
             if (listType.equals("short") || listType.equals("list")) {
-                System.out.println(book.getTitle());
-                //4.
+                out.println(book.getTitle());
+                // 3.
             } else if (listType.equals("long")) {
-                System.out.print(book);
-                System.out.println("\n");
+                out.print(book.toString());
+                out.println("\n");
             }
         }
     }
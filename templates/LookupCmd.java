@@ -0,0 +1,84 @@
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Subclass of superclass Library Command
+ * Designed for finding the books in Library with a given ISBN
+ */
+public class LookupCmd extends LibraryCommand {
+    /** Initialises String isbnInput.
+     * This is used to store the ISBN as given by the user, for messages */
+    private String isbnInput;
+    /** Initialises long isbn.
+     * This is used to store the ISBN packed as ISBN-13 by Isbn.parse */
+    private long isbn;
+    /** Method LookupCmd
+     * Instantiates LookupCmd object with LOOKUP
+     from Command type enum and argumentInput
+     * Input Parameters
+     * @param argumentInput stores string from user input following "LOOKUP"
+     */
+    public LookupCmd(String argumentInput) {
+        super(CommandType.LOOKUP, argumentInput);
+    }
+    @Override//parseArguments
+    /** Method parseArguments
+     * Verifies argumentInput is valid before executing command
+     * 1. Checks if argument is Null and reports error if it is.
+     * 2. Assigns isbnInput to the trimmed user input
+     * 3. Parses the input as ISBN-10 or ISBN-13. The input is only valid
+     if it is an ISBN of ten or thirteen digits with a correct check digit
+     * Input Parameters:
+     * @param argumentInput contains input from user
+     * Output Parameters:
+     * @return boolean used for verification of inputArgument
+     * Exceptions:
+     * @throws NullPointerException if argumentInput is empty*/
+    protected boolean parseArguments(String argumentInput) {
+        // 1.
+        Objects.requireNonNull(argumentInput);
+        // 2.
+        isbnInput = argumentInput.trim();
+        // 3.
+        isbn = Isbn.parse(isbnInput);
+        return isbn != Isbn.INVALID;
+    }
+    @Override//isReadOnly
+    /** Method isReadOnly: true, as a lookup only reads the ISBN index */
+    public boolean isReadOnly() {
+        return true;
+    }
+    @Override//execute
+    /** Method execute
+     * Executes LookupCmd Command on provided ISBN
+     * 1. Checks if the library data provided is null
+     * 2. Gets the books with the ISBN from the ISBN index of the library
+     data. An ISBN-10 and its ISBN-13 find the same books
+     * 3. Prints every book found in the same format as LIST long
+     * 4. If no books were found, the user is informed that no book has
+     the provided ISBN
+     * Input Parameters:
+     * @param data contains all the data from the library
+     * @param out receives the output of the command
+     * Output Parameters:
+     * @return true, a lookup cannot fail
+     * Exceptions:
+     * @throws NullPointerException if data is null
+     */
+    public boolean execute(LibraryData data, CommandOutput out) {
+        // 1.
+        Objects.requireNonNull(data, "Given argument input must not be null.");
+        // 2.
+        List<BookEntry> booksFound = data.lookupIsbn(isbn);
+        // 3.
+        for (BookEntry book : booksFound) {
+            out.print(book.toString());
+            out.println("\n");
+        }
+        // 4.
+        if (booksFound.isEmpty()) {
+            out.println("No book found for ISBN: " + isbnInput);
+        }
+        return true;
+    }
+}
@@ -1,12 +1,102 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
 /** Main entry point into the library browser program. */
 public class Main {
 
+    /** Argument selecting columnar storage of the book data. */
+    private static final String COLUMNAR_ARGUMENT = "--columnar";
+    /** Argument selecting columnar storage with titles and authors outside of the heap. */
+    private static final String OFF_HEAP_ARGUMENT = "--off-heap";
+    /** Argument running a command script instead of the interactive loop. */
+    private static final String BATCH_ARGUMENT = "--batch";
+    /** Script name reading the command script from StdIn. */
+    private static final String STD_IN_SCRIPT = "-";
+    /** Argument stopping a command script at the first failed command. */
+    private static final String FAIL_FAST_ARGUMENT = "--fail-fast";
+    /** Argument serving clients on the given port instead of the interactive loop. */
+    private static final String SERVER_ARGUMENT = "--server";
+
     /**
      * Start the library browser program.
-     * @param args not used for arguments
+     * @param args "--columnar" to store the book data in columns, see ColumnarBookList,
+     * "--off-heap" to store it in columns with titles and authors outside of the heap,
+     * "--batch file" to run the commands of the given script, "-" for StdIn,
+     * "--fail-fast" to stop the script at the first failed command,
+     * "--server port" to serve clients on the given port, see LibraryServer
      */
     public static void main(String[] args) {
-        LibraryBrowser browser = new LibraryBrowser();
-        browser.run();
+        StorageMode mode = StorageMode.OBJECTS;
+        String script = null;
+        boolean failFast = false;
+        String port = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals(COLUMNAR_ARGUMENT)) {
+                mode = StorageMode.COLUMNAR;
+            } else if (args[i].equals(OFF_HEAP_ARGUMENT)) {
+                mode = StorageMode.OFF_HEAP;
+            } else if (args[i].equals(BATCH_ARGUMENT) && i + 1 < args.length) {
+                script = args[++i];
+            } else if (args[i].equals(SERVER_ARGUMENT) && i + 1 < args.length) {
+                port = args[++i];
+            } else if (args[i].equals(FAIL_FAST_ARGUMENT)) {
+                failFast = true;
+            } else {
+                System.err.println("ERROR: Unknown argument: " + args[i]);
+            }
+        }
+
+        if (port != null) {
+            if (!runServer(new LibraryData(mode), port)) {
+                System.exit(1);
+            }
+            return;
+        }
+
+        LibraryBrowser browser = new LibraryBrowser(mode);
+        if (script == null) {
+            browser.run();
+        } else if (!runBatch(browser, script, failFast)) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Run the given command script.
+     * @param browser library browser running the commands
+     * @param script path of the script or "-" for StdIn
+     * @param failFast true to stop at the first failed command
+     * @return true if all commands of the script succeeded
+     */
+    private static boolean runBatch(LibraryBrowser browser, String script, boolean failFast) {
+        try (BufferedReader reader = script.equals(STD_IN_SCRIPT)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(script), StandardCharsets.UTF_8)) {
+            return browser.runBatch(reader, failFast);
+        } catch (IOException | SecurityException e) {
+            System.err.println("ERROR: Opening command script failed: " + script + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Serve clients on the given port until the program is terminated.
+     * @param data book data shared by all clients
+     * @param port port to listen on
+     * @return false if the server could not be started
+     */
+    private static boolean runServer(LibraryData data, String port) {
+        try (LibraryServer server = new LibraryServer(data, Integer.parseInt(port))) {
+            System.out.println("Library server listening on port " + server.getPort() + ".");
+            server.run();
+            return true;
+        } catch (IOException | NumberFormatException | SecurityException e) {
+            System.err.println("ERROR: Starting library server failed on port " + port + ": " + e.getMessage());
+            return false;
+        }
     }
 }
@@ -0,0 +1,171 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Dictionary assigning a compact integer id to each distinct string,
+ * keeping the characters of the strings outside of the heap.
+ *
+ * Strings are encoded as Latin-1 if possible and as UTF-8 otherwise, and
+ * appended to an arena of direct byte buffers. The heap only holds a
+ * few primitive values per string: its position in the arena, its hash
+ * code and a slot of the hash table used for lookups. Strings are created
+ * again whenever they are requested, so the garbage collector never has
+ * to trace the stored strings.
+ */
+public class OffHeapStringDictionary implements StringStore {
+
+    /** Size of each buffer of the arena in bytes. */
+    private static final int CHUNK_SIZE = 16 * 1024 * 1024;
+    /** Initial number of strings the dictionary has space for. */
+    private static final int INITIAL_CAPACITY = 16;
+    /** Flag in the stored length marking a UTF-8 encoded string. */
+    private static final int UTF_8_FLAG = 1 << 31;
+
+    /** Buffers of the arena, each filled from the start. */
+    private final List<ByteBuffer> chunks;
+    /** Position of each string, as chunk index in the upper and offset in the lower half. */
+    private long[] positions;
+    /** Hash code of each string. */
+    private int[] hashes;
+    /** Open addressing hash table of ids plus one, 0 marks a free slot. */
+    private int[] table;
+    /** Number of strings in the dictionary. */
+    private int size;
+
+    /** Create a new and empty dictionary. */
+    public OffHeapStringDictionary() {
+        chunks = new ArrayList<>();
+        positions = new long[INITIAL_CAPACITY];
+        hashes = new int[INITIAL_CAPACITY];
+        table = new int[INITIAL_CAPACITY * 2];
+    }
+
+    @Override
+    public int add(String value) {
+        Objects.requireNonNull(value, "Given value must not be null.");
+
+        int hash = value.hashCode();
+        int slot = findSlot(value, hash);
+        if (table[slot] != 0) {
+            return table[slot] - 1;
+        }
+
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        positions[size] = store(value);
+        hashes[size] = hash;
+        table[slot] = size + 1;
+        size++;
+        if (size * 2 > table.length) {
+            rebuildTable(table.length * 2);
+        }
+        return size - 1;
+    }
+
+    @Override
+    public int find(String value) {
+        Objects.requireNonNull(value, "Given value must not be null.");
+
+        return table[findSlot(value, value.hashCode())] - 1;
+    }
+
+    /**
+     * Create the string with the given id from its stored bytes.
+     *
+     * @param id id of the string
+     * @return new string equal to the one added with the given id
+     * @throws IndexOutOfBoundsException if no string has the given id
+     */
+    @Override
+    public String get(int id) {
+        Objects.checkIndex(id, size);
+
+        ByteBuffer chunk = chunks.get((int) (positions[id] >>> 32));
+        int offset = (int) positions[id];
+        int length = chunk.getInt(offset);
+        byte[] bytes = new byte[length & ~UTF_8_FLAG];
+        // a duplicate keeps the position of the shared chunk untouched for concurrent readers
+        chunk.duplicate().position(offset + Integer.BYTES).get(bytes);
+        return new String(bytes, (length & UTF_8_FLAG) != 0 ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of bytes reserved outside of the heap.
+     * @return total capacity of all buffers of the arena
+     */
+    public long getOffHeapBytes() {
+        long bytes = 0;
+        for (ByteBuffer chunk : chunks) {
+            bytes += chunk.capacity();
+        }
+        return bytes;
+    }
+
+    /**
+     * Find the slot of the hash table holding the given string, or the
+     * free slot it would be stored in.
+     */
+    private int findSlot(String value, int hash) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            int id = table[slot] - 1;
+            if (hashes[id] == hash && get(id).equals(value)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Recreate the hash table with the given number of slots and insert all ids.
+     * @param slots number of slots, must be a power of two larger than the size
+     */
+    private void rebuildTable(int slots) {
+        table = new int[slots];
+        int mask = slots - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id + 1;
+        }
+    }
+
+    /**
+     * Append the encoded string with its length to the arena.
+     * @param value string to be stored
+     * @return position of the stored string
+     */
+    private long store(String value) {
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) <= 0xFF;
+        }
+        byte[] bytes = value.getBytes(latin1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        int needed = Integer.BYTES + bytes.length;
+
+        ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (chunk == null || chunk.remaining() < needed) {
+            chunk = ByteBuffer.allocateDirect(Math.max(CHUNK_SIZE, needed));
+            chunks.add(chunk);
+        }
+        int offset = chunk.position();
+        chunk.putInt(latin1 ? bytes.length : bytes.length | UTF_8_FLAG);
+        chunk.put(bytes);
+        return ((long) (chunks.size() - 1) << 32) | offset;
+    }
+}
@@ -1,22 +1,50 @@
-import java.awt.print.Book;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Subclass of superclass Library Command
  * Designed for removing books from Library
+ * A single title or author is taken literally, as in "TITLE a|b".
+ Several titles or authors can be removed at once with "TITLES" or
+ "AUTHORS", either separated by "|" or listed one per line in a file
+ given as "@path/to/terms.txt". Term files are only read from within the
+ working directory of the library, so that a remote client cannot have
+ any other local file read
  */
 public class RemoveCmd extends LibraryCommand {
+    /** Separates several terms given directly in the user input */
+    private static final String TERM_SEPARATOR = "|";
+    /** Marks a term as path of a file with one term per line */
+    private static final String TERM_FILE_PREFIX = "@";
+    /** Suffix of the removal type selecting several terms, as in "TITLES" */
+    private static final String MULTIPLE_SUFFIX = "s";
+    /** Directory term files must lie within, the working directory */
+    private static final Path TERM_FILE_DIRECTORY = Paths.get("").toAbsolutePath();
     /**
      * Initialises String removeType and String removeTerm
      * remoteType is used to store whether the user wants to remove books
      * via an author or a title
-     * removeTerm contains the title or author itself
+     * removeTerm contains the title or author itself, or all of them as
+     given by the user
+     * removeTerms contains each title or author to be removed, in the given
+     order or in the order of the term file
+     * termFile contains the path of the term file, or null if the terms
+     were given directly
      */
     private String removeType;
     private String removeTerm;
+    private List<String> removeTerms;
+    private Path termFile;
     /** Method RemoveCmd
      * Instantiates RemoveCmd object  with REMOVE
      from Command type enum and argumentInput
@@ -39,7 +67,10 @@ public class RemoveCmd extends LibraryCommand {
      part, and the rest of formattedString (that should contain the title/author)
      is assigned to removeTerm. validInput is also changed to true as the
      input is now valid
-     * 4. Returns validity of argument via inputValid
+     * 4. If the first part is followed by "s", as in "titles" or
+     "authors", the rest of formattedString is split into the single terms,
+     see parseTerms. Otherwise it is the only term, taken literally
+     * 5. Returns validity of argument via inputValid
      * Input Parameters:
      * @param argumentInput contains input from user
      * Output Parameters:
@@ -51,105 +82,297 @@ public class RemoveCmd extends LibraryCommand {
         Objects.requireNonNull(argumentInput);
         boolean validInput = false;
         String formattedInput = argumentInput.trim();
+        boolean multipleTerms = false;
+        // 2.
         if (!(formattedInput.length() < 7)) {
             // 3.
             if (formattedInput.substring(0, 5).toLowerCase().equals("title")) {
                 validInput = true;
                 removeType = formattedInput.substring(0, 5);
-                removeTerm = formattedInput.substring(6).trim();
+                multipleTerms = isMultiple(formattedInput, 5);
+                removeTerm = formattedInput.substring(multipleTerms ? 7 : 6).trim();
             } else if (formattedInput.substring(0, 6).toLowerCase().equals("author")) {
                 validInput = true;
                 removeType = formattedInput.substring(0, 6);
-                removeTerm = formattedInput.substring(7).trim();
+                multipleTerms = isMultiple(formattedInput, 6);
+                removeTerm = formattedInput.substring(multipleTerms ? 8 : 7).trim();
             }
         }
         // 4.
+        if (validInput && multipleTerms) {
+            validInput = parseTerms();
+        } else if (validInput) {
+            removeTerms = List.of(removeTerm);
+        }
+        // 5.
         return validInput;
     }
+    /** Method isMultiple
+     * Checks whether the removal type ending at the given index is followed
+     by "s" and whitespace, as in "TITLES a|b", selecting several terms
+     * Input Parameters:
+     * @param formattedInput contains the trimmed input from user
+     * @param typeEnd index after the removal type
+     * Output Parameters:
+     * @return true if several terms are to be removed */
+    private static boolean isMultiple(String formattedInput, int typeEnd) {
+        int termStart = typeEnd + MULTIPLE_SUFFIX.length();
+        return formattedInput.length() > termStart + 1
+                && formattedInput.substring(typeEnd, termStart).toLowerCase().equals(MULTIPLE_SUFFIX)
+                && Character.isWhitespace(formattedInput.charAt(termStart));
+    }
+    /** Method parseTerms
+     * Splits removeTerm into the terms to be removed
+     * 1. If removeTerm names a term file, only its path is kept, the terms
+     are read from the file when the command is executed. See readTermFile
+     * 2. Otherwise removeTerm is split at every "|", and each trimmed,
+     non blank part is added to removeTerms
+     * 3. The terms are valid if there is at least one term
+     * Output Parameters:
+     * @return true if there is at least one term to be removed, or a valid
+     path of a term file */
+    private boolean parseTerms() {
+        // 1.
+        if (removeTerm.startsWith(TERM_FILE_PREFIX) && removeTerm.length() > TERM_FILE_PREFIX.length()) {
+            try {
+                termFile = Paths.get(removeTerm.substring(TERM_FILE_PREFIX.length()).trim());
+                return true;
+            } catch (InvalidPathException e) {
+                return false;
+            }
+        }
+        // 2.
+        removeTerms = new ArrayList<>();
+        int start = 0;
+        while (start <= removeTerm.length()) {
+            int end = removeTerm.indexOf(TERM_SEPARATOR, start);
+            if (end == -1) {
+                end = removeTerm.length();
+            }
+            String term = removeTerm.substring(start, end).trim();
+            if (!term.isEmpty()) {
+                removeTerms.add(term);
+            }
+            start = end + TERM_SEPARATOR.length();
+        }
+        // 3.
+        return !removeTerms.isEmpty();
+    }
+    @Override//locksItself
+    /** Method locksItself: true for a term file, as it is read before the write lock is taken to remove the books */
+    public boolean locksItself() {
+        return termFile != null;
+    }
     @Override//execute
     /** Method execute
      *  Executes RemoveCmd Command on provided title/author
      * 1. Checks if data is null
-     * 2. Checks if there are any books in the library. If is empty,
-     the appropriate message will be printed, if not then the else code
-     run
-     * 3. Checks if the user is removing a title or author, and runs the
-     appropriate removal function
+     * 2. If the terms are given directly, the books are removed right away,
+     as executeLocked already holds the write lock
+     * 3. Otherwise the terms are read from the term file without a lock,
+     reporting an error if that fails. See readTermFile
+     * 4. The books are removed while holding the write lock of the library
      * Input Parameters:
      * @param data contains the library data
+     * @param out receives the output of the command
+     * Output Parameters:
+     * @return true if the books were removed, false if the term file could
+     not be read
      * Exceptions:
      * @throws NullPointerException if argumentInput is empty*/
-    public void execute(LibraryData data) {
+    public boolean execute(LibraryData data, CommandOutput out) {
         // 1.
         Objects.requireNonNull(data);
         // 2.
+        if (termFile == null) {
+            removeData(data, out);
+            return true;
+        }
+        // 3.
+        removeTerms = readTermFile(termFile, out);
+        if (removeTerms == null) {
+            return false;
+        }
+        // 4.
+        data.writeLock().lock();
+        try {
+            removeData(data, out);
+        } finally {
+            data.writeLock().unlock();
+        }
+        return true;
+    }
+    /** Method removeData
+     * Removes the books of removeTerms
+     * 1. Checks if there are any books in the library. If is empty,
+     the appropriate message will be printed, if not then the else code
+     run
+     * 2. Checks if the user is removing a title or author, and runs the
+     appropriate removal function
+     * Input Parameters:
+     * @param data contains the library data
+     * @param out receives the output of the removal */
+    private void removeData(LibraryData data, CommandOutput out) {
+        // 1.
         if (data.getBookData().isEmpty()) {
-            System.out.println("The library has no books");
+            out.println("The library has no books");
         } else {
-            // 3.
+            // 2.
             if (removeType.toLowerCase().equals("title")) {
-                removeDataTitle(data.getBookData());
+                removeDataTitle(data, removeTerms, out);
             } else if (removeType.toLowerCase().equals("author")) {
-                removeDataAuthor(data.getBookData());
+                removeDataAuthor(data, removeTerms, out);
+            }
+        }
+    }
+    /** Method readTermFile
+     * Reads the titles or authors to be removed from a term file
+     * 1. Checks that the term file lies within the working directory, also
+     after following symbolic links, and reports an error if it does not
+     * 2. Takes each trimmed, non blank line as a term
+     * 3. Reports an error if the file cannot be read or has no terms
+     * Input Parameters:
+     * @param termFile path of the term file
+     * @param out receives the error reports
+     * Output Parameters:
+     * @return terms to be removed, or null if the term file could not be read */
+    private static List<String> readTermFile(Path termFile, CommandOutput out) {
+        try {
+            // 1.
+            if (!termFile.toAbsolutePath().normalize().startsWith(TERM_FILE_DIRECTORY)
+                    || !termFile.toRealPath().startsWith(TERM_FILE_DIRECTORY.toRealPath())) {
+                out.printError("ERROR: Remove terms can only be read from files within the working directory: "
+                        + termFile);
+                return null;
+            }
+            // 2.
+            List<String> terms = new ArrayList<>();
+            for (String line : Files.readAllLines(termFile)) {
+                if (!line.isBlank()) {
+                    terms.add(line.trim());
+                }
             }
+            // 3.
+            if (terms.isEmpty()) {
+                out.printError("ERROR: No remove terms found in file: " + termFile);
+                return null;
+            }
+            return terms;
+        } catch (IOException | RuntimeException e) {
+            out.printError("ERROR: Reading remove terms failed for file: " + termFile);
+            return null;
         }
     }
     // -------------------- Removal Functions -------------------- //
     /** Method removeDataAuthor
-     * Removes books written by author in removeTerm.
-     * 1. creates a copy of the books list and a counter
-     * 2. loops through copy, casting the current object to BookEntry so that
-     the authors can be obtained from the BookEntry getAuthors method
-     method
-     * 3. Within the loop, if the books copy contains a book by the target
-     author, the book is removed from the actual books list, and the
-     counter is increased
-     * 4. Prints the number of books removed for an author
+     * Removes books written by the given authors.
+     * 1. Collects the books of every author, looked up in the author index
+     of the library, so only the books of the authors are visited. Only
+     books not yet collected for an earlier author are counted for the
+     report, so a book of several given authors is counted once
+     * 2. Removes all collected books from the library data in a single pass
+     * 3. Prints the number of books removed for each author, in the order
+     the authors were given. For a term file, authors without books are not
+     printed but only counted, see printNotFound
      * Input Parameters:
-     * @param books contains books in the library
+     * @param data contains the library data
+     * @param terms contains the exact names of the authors
+     * @param out receives the output of the removal
      * Exceptions
      * @throws NullPointerException if argumentInput is empty*/
-    public void removeDataAuthor(List<BookEntry> books) {
+    public void removeDataAuthor(LibraryData data, List<String> terms, CommandOutput out) {
         // 1.
-        int counter = 0;
-        List<BookEntry> booksCopy = new ArrayList<>(books);
+        Set<BookEntry> removed = new LinkedHashSet<>();
+        List<Integer> counters = new ArrayList<>(terms.size());
+        for (String author : terms) {
+            int counter = 0;
+            for (BookEntry book : data.booksByAuthor(author)) {
+                if (removed.add(book)) {
+                    counter++;
+                }
+            }
+            counters.add(counter);
+        }
         // 2.
-        for (BookEntry entry : booksCopy) {
-            BookEntry book = (BookEntry) entry;
-            //3.
-            if (Arrays.toString(book.getAuthors()).contains((String)removeTerm)) {
-                books.remove(book);
-                counter++;
+        data.removeEntries(removed);
+        // 3.
+        int notFound = 0;
+        for (int i = 0; i < terms.size(); i++) {
+            if (termFile != null && counters.get(i) == 0) {
+                notFound++;
+            } else {
+                out.println(counters.get(i) + " books removed for author: " + terms.get(i));
             }
         }
-        // 4.
-        System.out.println(counter + " books removed for author: " + removeTerm);
+        printNotFound(notFound, "authors", out);
     }
     /** Method removeDataTitle
-     * Removes book with the title stored in removeTerm
-     * 1. Assigns the string removedSuccesfully to output for instance that
-     the title is not found
-     * 2. Loops through each book in the library. If the title is found, it
-     removes the title, reassigns the removedSuccessfully and ends the loop
-     * 3. Prints that either the book has been removed or that
-     the book was not found
+     * Removes one book for each of the given titles
+     * 1. Counts how often each title was given, as a title given twice
+     removes two books with that title
+     * 2. Loops once through each book in the library. If more books with
+     its title are to be removed, the book is collected for removal. The loop
+     ends early once all titles have been found
+     * 3. Removes all collected books from the library data in a single pass
+     * 4. Prints for each title in the given order that either the book has
+     been removed or that the book was not found. For a term file, titles not
+     found are not printed but only counted, see printNotFound
      * Input Parameters:
-     * @param books contains books in the library
+     * @param data contains the library data
+     * @param terms contains the exact titles
+     * @param out receives the output of the removal
      * Exceptions:
      * @throws NullPointerException if argumentInput is empty */
-    public void removeDataTitle(List<BookEntry> books) {
+    public void removeDataTitle(LibraryData data, List<String> terms, CommandOutput out) {
         // 1.
-        String removedSuccessfully = removeTerm + ": not found.";
+        Map<String, Integer> wanted = new HashMap<>();
+        for (String title : terms) {
+            wanted.merge(title, 1, Integer::sum);
+        }
         // 2.
-        for (BookEntry book : books) {
-            if (book.getTitle().equals(removeTerm)) {
-                books.remove(book);
-                removedSuccessfully = removeTerm + ": removed successfully.";
+        Map<String, Integer> found = new HashMap<>();
+        List<BookEntry> removed = new ArrayList<>();
+        int missing = terms.size();
+        for (BookEntry book : data.getBookData()) {
+            if (missing == 0) {
                 break;
             }
+            String title = book.getTitle();
+            Integer count = wanted.get(title);
+            if (count != null && found.getOrDefault(title, 0) < count) {
+                found.merge(title, 1, Integer::sum);
+                removed.add(book);
+                missing--;
+            }
         }
         // 3.
-        System.out.println(removedSuccessfully);
+        data.removeEntries(removed);
+        // 4.
+        int notFound = 0;
+        for (String title : terms) {
+            int left = found.getOrDefault(title, 0);
+            if (left > 0) {
+                found.put(title, left - 1);
+                out.println(title + ": removed successfully.");
+            } else if (termFile != null) {
+                notFound++;
+            } else {
+                out.println(title + ": not found.");
+            }
+        }
+        printNotFound(notFound, "titles", out);
+    }
+    /** Method printNotFound
+     * Prints how many terms of a term file were not found, instead of
+     printing each of them, as the lines of the file are not echoed back
+     * Input Parameters:
+     * @param notFound number of terms of the term file not found
+     * @param termName name of the kind of terms, as in "titles"
+     * @param out receives the output of the removal */
+    private static void printNotFound(int notFound, String termName, CommandOutput out) {
+        if (notFound > 0) {
+            out.println(notFound + " " + termName + " not found.");
+        }
     }
     // ----------------------------------------------------------- //
 }
\ No newline at end of file
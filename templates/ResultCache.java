@@ -0,0 +1,164 @@
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Least recently used cache of the output of read-only commands.
+ *
+ * Entries are keyed by command type and canonical argument, see
+ * LibraryCommand.getCanonicalArgument. They remember the library and
+ * library version they were produced for, so an entry is only used as
+ * long as the book data has not changed since. The library is only
+ * referenced weakly, so cached outputs do not keep a discarded library
+ * alive. The cache is bounded by the total number of cached characters.
+ * Outputs larger than a quarter of the capacity are never cached.
+ *
+ * Only the output of commands which reported no error is cached, see
+ * CommandInterpreter, so a cached output has no error reports to replay.
+ */
+public class ResultCache {
+
+    /** Default capacity in characters. */
+    public static final int DEFAULT_CAPACITY = 16 * 1024 * 1024;
+
+    /** Cached outputs in access order, least recently used first. */
+    private final LinkedHashMap<String, Entry> entries;
+    /** Maximum number of cached characters. */
+    private final long capacity;
+    /** Number of currently cached characters. */
+    private long size;
+    /** Number of lookups answered from the cache. */
+    private long hits;
+    /** Number of lookups not answered from the cache. */
+    private long misses;
+
+    /** Create an empty cache with the default capacity. */
+    public ResultCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty cache.
+     * @param capacity maximum number of cached characters
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ResultCache(long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+        entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Get the cached output of a command, counting a hit or a miss.
+     *
+     * @param type type of the command
+     * @param argument canonical argument of the command
+     * @param data library the command is executed on
+     * @param version current version of the library
+     * @return cached output or null if there is no valid entry
+     * @throws NullPointerException if one of the given objects is null
+     */
+    public synchronized String get(CommandType type, String argument, LibraryData data, long version) {
+        Entry entry = entries.get(key(type, argument));
+        if (entry != null && entry.data.get() == data && entry.version == version) {
+            hits++;
+            return entry.output;
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Cache the output of a command, evicting least recently used
+     * entries if the capacity is exceeded.
+     *
+     * @param type type of the command
+     * @param argument canonical argument of the command
+     * @param data library the command was executed on
+     * @param version version of the library the output was produced for
+     * @param output output of the command
+     * @throws NullPointerException if one of the given objects is null
+     */
+    public synchronized void put(CommandType type, String argument, LibraryData data, long version, String output) {
+        Objects.requireNonNull(data, "Given data must not be null.");
+        Objects.requireNonNull(output, "Given output must not be null.");
+
+        String key = key(type, argument);
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            size -= previous.output.length();
+        }
+        if (output.length() > capacity / 4) {
+            return;
+        }
+
+        entries.put(key, new Entry(data, version, output));
+        size += output.length();
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (size > capacity && eldest.hasNext()) {
+            size -= eldest.next().output.length();
+            eldest.remove();
+        }
+    }
+
+    /** Remove all entries. The hit and miss counters are kept. */
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * Number of lookups answered from the cache.
+     * @return number of hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Number of lookups not answered from the cache.
+     * @return number of misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Number of cached outputs.
+     * @return number of entries
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Number of cached characters.
+     * @return total length of all cached outputs
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    private static String key(CommandType type, String argument) {
+        Objects.requireNonNull(type, "Given type must not be null.");
+        Objects.requireNonNull(argument, "Given argument must not be null.");
+        return type.name() + " " + argument;
+    }
+
+    /** Output of a command for a library version. */
+    private static final class Entry {
+        final WeakReference<LibraryData> data;
+        final long version;
+        final String output;
+
+        Entry(LibraryData data, long version, String output) {
+            this.data = new WeakReference<>(data);
+            this.version = version;
+            this.output = output;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+/**
+ * Subclass of superclass Library Command
+ * Designed for saving the books of the Library to a snapshot file
+ */
+public class SaveCmd extends LibraryCommand {
+    /** Initialises Path snapshotPath.
+     * This is used to store the path received from the user input */
+    private Path snapshotPath;
+    /** Method SaveCmd
+     * Instantiates SaveCmd object with SAVE
+     from Command type enum and argumentInput
+     * Input Parameters
+     * @param argumentInput stores string from user input following "SAVE"
+     */
+    public SaveCmd(String argumentInput) {
+        super(CommandType.SAVE, argumentInput);
+    }
+    @Override//parseArguments
+    /** Method parseArguments
+     * Verifies argumentInput is valid before executing command
+     * 1. Checks if argument is Null and reports error if it is.
+     * 2. Assigns the boolean validEntry false for the input validity
+     * 3. Checks if the user input is not blank. If it is, validEntry will
+     remain false
+     * 4. Assigns the Path snapshotPath declared earlier to the trimmed user
+     input and sets validEntry to true
+     * Input Parameters:
+     * @param argumentInput contains input from user
+     * Output Parameters:
+     * @return boolean validEntry used for verification of inputArgument
+     * Exceptions:
+     * @throws NullPointerException if argumentInput is empty*/
+    protected boolean parseArguments(String argumentInput) {
+        // 1.
+        Objects.requireNonNull(argumentInput);
+        // 2.
+        boolean validEntry = false;
+        // 3.
+        if (!argumentInput.isBlank()) {
+            // 4.
+            snapshotPath = Paths.get(argumentInput.trim());
+            validEntry = true;
+        }
+        return validEntry;
+    }
+    @Override//isReadOnly
+    /** Method isReadOnly: true, as saving only reads the book data */
+    public boolean isReadOnly() {
+        return true;
+    }
+    @Override//execute
+    /** Method execute
+     * Executes SaveCmd Command with provided path
+     * 1. Checks if the library data provided is null
+     * 2. Calls saveSnapshot function from the Library data class, which writes
+     all book entries to the binary snapshot file obtained via the snapshotPath
+     * Input Parameters:
+     * @param data contains all the data from the library
+     * @param out receives the output of the command
+     * Output Parameters:
+     * @return true if the snapshot was saved, false if an error was reported
+     * Exceptions:
+     * @throws NullPointerException if data is null
+     */
+    public boolean execute(LibraryData data, CommandOutput out) {
+        // 1.
+        Objects.requireNonNull(data, "Given argument input must not be null.");
+        // 2.
+        return data.saveSnapshot(snapshotPath, out);
+    }
+}
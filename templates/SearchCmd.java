@@ -1,3 +1,4 @@
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -46,35 +47,41 @@ public class SearchCmd extends LibraryCommand {
         }
         return validInput;
     }
+    @Override//isReadOnly
+    /** Method isReadOnly: true, as searching only reads the titles */
+    public boolean isReadOnly() {
+        return true;
+    }
     @Override//execute
     /** Method execute
      *  Executes SearchCmd Command on provided search term
      * 1. Checks if data is null
-     * 2. Initialises a counter variable, counter,  and begins loop
-     through books in library
-     * 3. If a book is found with the given search term, then the counter
-     is increased by 1 and the book found is printed.
-     4.  If the counter is still 0, the user is informed that no books were found
+     * 2. Gets the books with the search term in their title from the
+     title index of the library data, in the order of the library
+     * 3. Prints the title of every book found
+     4.  If no books were found, the user is informed that no books were found
      with the provided search criteria
      * Input parameters:
      * @param data contains the library data
+     * @param out receives the output of the command
+     * Output Parameters:
+     * @return true, searching cannot fail
      * Exceptions:
      * @throws NullPointerException if argumentInput is empty
      * */
-    public void execute(LibraryData data) {
+    public boolean execute(LibraryData data, CommandOutput out) {
         // 1.
         Objects.requireNonNull(data, "Given input argument must not be null.");
         // 2.
-        int noOfBooksFound = 0;
-        for (BookEntry book : data.getBookData()) {
-            if (book.getTitle().toLowerCase().contains(searchTerm.toLowerCase())) {
-                System.out.println(book.getTitle());
-                noOfBooksFound++;
-            }
+        List<BookEntry> booksFound = data.searchTitles(searchTerm);
+        // 3.
+        for (BookEntry book : booksFound) {
+            out.println(book.getTitle());
         }
         // 4.
-        if (noOfBooksFound == 0) {
-            System.out.println("No hits found for search term: " + searchTerm);
+        if (booksFound.isEmpty()) {
+            out.println("No hits found for search term: " + searchTerm);
         }
+        return true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,227 @@
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Sorted index from int keys to the positions of the book entries
+ * carrying them.
+ *
+ * Keys and positions are kept in two primitive arrays sorted by key,
+ * so all entries with a key in a given range form one contiguous slice
+ * that is found by binary search. Only that slice is visited when
+ * selecting entries.
+ *
+ * The index follows changes of the book data without being sorted again:
+ * appended entries are sorted on their own and merged into a small sorted
+ * tail, which is only merged into the main arrays once it holds more than
+ * about the square root of all entries. A small append thus costs the
+ * size of the tail instead of the size of the index. Merges run from the
+ * end of arrays grown by doubling, so no entry is copied to a new array.
+ * Removed entries are dropped in a single pass.
+ */
+public class SortedIntIndex {
+
+    /** Smallest number of entries the tail may hold before it is merged. */
+    private static final int MIN_TAIL_SIZE = 64;
+
+    /** Keys of the main entries in ascending order. */
+    private int[] keys;
+
+    /** Position of the book entry of each main key, ascending for equal keys. */
+    private int[] positions;
+
+    /** Number of main entries, the arrays are usually longer. */
+    private int size;
+
+    /** Keys of the entries appended since the last merge, in ascending order. */
+    private int[] tailKeys;
+
+    /** Position of the book entry of each tail key, larger than all main positions. */
+    private int[] tailPositions;
+
+    /** Number of tail entries. */
+    private int tailSize;
+
+    /**
+     * Create an index over the given keys.
+     *
+     * @param keysByPosition key of each book entry, by position of the entry
+     * @throws NullPointerException if the given array is null
+     */
+    public SortedIntIndex(int[] keysByPosition) {
+        Objects.requireNonNull(keysByPosition, "Given keys must not be null.");
+
+        keys = new int[0];
+        positions = new int[0];
+        tailKeys = new int[0];
+        tailPositions = new int[0];
+        append(keysByPosition, 0);
+    }
+
+    /**
+     * Number of book entries in the index.
+     * @return number of entries
+     */
+    public int size() {
+        return size + tailSize;
+    }
+
+    /**
+     * Add book entries appended to the book data. Only the new keys are
+     * sorted, then merged into the tail. A tail grown past its limit is
+     * merged into the main entries.
+     *
+     * @param appendedKeys key of each appended book entry, in book data order
+     * @param firstPosition position of the first appended entry, larger
+     * than all positions in the index
+     * @throws NullPointerException if the given array is null
+     */
+    public void append(int[] appendedKeys, int firstPosition) {
+        Objects.requireNonNull(appendedKeys, "Given keys must not be null.");
+
+        // sort key and position packed into one long, positions break ties
+        long[] packed = new long[appendedKeys.length];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = ((long) appendedKeys[i] << 32) | (firstPosition + i);
+        }
+        Arrays.sort(packed);
+        int[] sortedPositions = new int[packed.length];
+        int[] sortedKeys = new int[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            sortedKeys[i] = (int) (packed[i] >> 32);
+            sortedPositions[i] = (int) packed[i];
+        }
+
+        if (tailSize + packed.length > tailKeys.length) {
+            int capacity = Math.max(tailSize + packed.length, 2 * tailKeys.length);
+            tailKeys = Arrays.copyOf(tailKeys, capacity);
+            tailPositions = Arrays.copyOf(tailPositions, capacity);
+        }
+        mergeInto(tailKeys, tailPositions, tailSize, sortedKeys, sortedPositions, packed.length);
+        tailSize += packed.length;
+
+        if (tailSize > Math.max(MIN_TAIL_SIZE, (int) Math.sqrt(size))) {
+            if (size + tailSize > keys.length) {
+                int capacity = Math.max(size + tailSize, 2 * keys.length);
+                keys = Arrays.copyOf(keys, capacity);
+                positions = Arrays.copyOf(positions, capacity);
+            }
+            mergeInto(keys, positions, size, tailKeys, tailPositions, tailSize);
+            size += tailSize;
+            tailSize = 0;
+        }
+    }
+
+    /**
+     * Merge sorted entries into other sorted entries, starting from the end
+     * so that no entry is overwritten before it is moved.
+     *
+     * @param keys keys to be merged into, with space for all entries
+     * @param positions positions of the keys to be merged into
+     * @param size number of entries to be merged into
+     * @param addedKeys keys to be added
+     * @param addedPositions positions of the added keys, larger than all other positions
+     * @param addedSize number of entries to be added
+     */
+    private static void mergeInto(int[] keys, int[] positions, int size,
+            int[] addedKeys, int[] addedPositions, int addedSize) {
+        int old = size - 1;
+        int added = addedSize - 1;
+        for (int i = size + addedSize - 1; added >= 0; i--) {
+            // added positions are larger, so they go last for equal keys
+            if (old >= 0 && keys[old] > addedKeys[added]) {
+                keys[i] = keys[old];
+                positions[i] = positions[old--];
+            } else {
+                keys[i] = addedKeys[added];
+                positions[i] = addedPositions[added--];
+            }
+        }
+    }
+
+    /**
+     * Move all entries to the positions they take after book entries were
+     * removed. Entries moved to a negative position are deleted. Positions
+     * keep their order, so the entries stay sorted.
+     *
+     * @param newPositions new position of each old position, negative for removed entries
+     * @throws NullPointerException if the given array is null
+     */
+    public void remap(int[] newPositions) {
+        Objects.requireNonNull(newPositions, "Given positions must not be null.");
+
+        size = remap(keys, positions, size, newPositions);
+        tailSize = remap(tailKeys, tailPositions, tailSize, newPositions);
+    }
+
+    /**
+     * Move the given entries to their new positions, dropping removed entries.
+     * @param keys keys of the entries
+     * @param positions positions of the entries, changed in place
+     * @param size number of entries
+     * @param newPositions new position of each old position, negative for removed entries
+     * @return number of entries kept
+     */
+    private static int remap(int[] keys, int[] positions, int size, int[] newPositions) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int position = newPositions[positions[i]];
+            if (position >= 0) {
+                keys[kept] = keys[i];
+                positions[kept++] = position;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Mark the positions of all book entries with a key in the given range.
+     *
+     * @param min smallest key in the range
+     * @param max largest key in the range
+     * @param selected receives the positions of the entries in the range
+     * @throws NullPointerException if the given set is null
+     */
+    public void select(int min, int max, BitSet selected) {
+        Objects.requireNonNull(selected, "Given set must not be null.");
+
+        int end = upperBound(keys, size, max);
+        for (int i = lowerBound(keys, size, min); i < end; i++) {
+            selected.set(positions[i]);
+        }
+        end = upperBound(tailKeys, tailSize, max);
+        for (int i = lowerBound(tailKeys, tailSize, min); i < end; i++) {
+            selected.set(tailPositions[i]);
+        }
+    }
+
+    /** @return index of the first of the given keys not smaller than the given key */
+    private static int lowerBound(int[] keys, int size, int key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /** @return index of the first of the given keys larger than the given key */
+    private static int upperBound(int[] keys, int size, int key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,9 @@
+/** Available ways of storing the book data of a library. */
+public enum StorageMode {
+    /** One BookEntry object per book. */
+    OBJECTS,
+    /** Column per field, see ColumnarBookList. */
+    COLUMNAR,
+    /** Column per field, with titles and author names outside of the heap. */
+    OFF_HEAP
+}
@@ -0,0 +1,84 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Dictionary assigning a compact integer id to each distinct string,
+ * keeping the strings on the heap.
+ *
+ * Ids are handed out in the order strings are first added and stay
+ * valid for the lifetime of the dictionary.
+ */
+public class StringDictionary implements StringStore {
+
+    /** Id of each string in the dictionary. */
+    private final Map<String, Integer> ids;
+
+    /** String of each id in the dictionary. */
+    private final List<String> values;
+
+    /** Create a new and empty dictionary. */
+    public StringDictionary() {
+        ids = new HashMap<>();
+        values = new ArrayList<>();
+    }
+
+    /**
+     * Get the id of the given string, adding the string if it is not
+     * in the dictionary yet.
+     *
+     * @param value string to be looked up
+     * @return id of the given string
+     * @throws NullPointerException if the given string is null
+     */
+    @Override
+    public int add(String value) {
+        Objects.requireNonNull(value, "Given value must not be null.");
+
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            ids.put(value, id);
+            values.add(value);
+        }
+        return id;
+    }
+
+    /**
+     * Get the id of the given string without adding it.
+     *
+     * @param value string to be looked up
+     * @return id of the given string or -1 if it is not in the dictionary
+     * @throws NullPointerException if the given string is null
+     */
+    @Override
+    public int find(String value) {
+        Objects.requireNonNull(value, "Given value must not be null.");
+
+        Integer id = ids.get(value);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Get the string with the given id.
+     *
+     * @param id id of the string
+     * @return string with the given id, shared by all callers
+     * @throws IndexOutOfBoundsException if no string has the given id
+     */
+    @Override
+    public String get(int id) {
+        return values.get(id);
+    }
+
+    /**
+     * Number of distinct strings in the dictionary.
+     * @return number of strings
+     */
+    @Override
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Store assigning a compact integer id to each distinct string.
+ *
+ * Ids are handed out in the order strings are first added and stay
+ * valid for the lifetime of the store.
+ */
+public interface StringStore {
+
+    /**
+     * Get the id of the given string, adding the string if it is not
+     * in the store yet.
+     *
+     * @param value string to be looked up
+     * @return id of the given string
+     * @throws NullPointerException if the given string is null
+     */
+    int add(String value);
+
+    /**
+     * Get the id of the given string without adding it.
+     *
+     * @param value string to be looked up
+     * @return id of the given string or -1 if it is not in the store
+     * @throws NullPointerException if the given string is null
+     */
+    int find(String value);
+
+    /**
+     * Get the string with the given id.
+     *
+     * @param id id of the string
+     * @return string with the given id
+     * @throws IndexOutOfBoundsException if no string has the given id
+     */
+    String get(int id);
+
+    /**
+     * Number of distinct strings in the store.
+     * @return number of strings
+     */
+    int size();
+}
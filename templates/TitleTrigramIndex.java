@@ -0,0 +1,240 @@
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Inverted index from lower case title trigrams to the rows of the
+ * book entries whose title contains them.
+ *
+ * Used to answer case-insensitive substring searches on titles
+ * without scanning every book in the library. Trigrams are kept in a
+ * primitive open-addressing hash table and rows in primitive arrays,
+ * so the index neither boxes its keys nor holds any book entries.
+ */
+public class TitleTrigramIndex {
+
+    /** Number of characters in a trigram. */
+    private static final int GRAM_LENGTH = 3;
+    /** Number of slots of a new index. Must be a power of two. */
+    private static final int INITIAL_CAPACITY = 1024;
+    /** Set in the key of every occupied slot, as a packed trigram may be 0. */
+    private static final long USED = 1L << 63;
+    /** Multiplier spreading the keys over the table (golden ratio). */
+    private static final long SPREAD = 0x9E3779B97F4A7C15L;
+    /** Posting returned for trigrams which are not in the index. */
+    private static final int[] NO_ROWS = new int[0];
+
+    /**
+     * Packed trigram of each slot with the USED bit set, or 0 for an
+     * empty slot. Each trigram is packed with 16 bits per character.
+     */
+    private long[] keys;
+    /** Rows of each slot in ascending order, the first counts[slot] are valid. */
+    private int[][] postings;
+    /** Number of rows in the posting of each slot. */
+    private int[] counts;
+    /** Number of occupied slots. */
+    private int size;
+
+    /** Create a new and empty index. */
+    public TitleTrigramIndex() {
+        clear();
+    }
+
+    /**
+     * Add the title of the given row to the index.
+     *
+     * Rows have to be added in ascending order, as search results
+     * are returned in the order rows were added.
+     *
+     * @param row row of the book entry in the library
+     * @param title title of the book entry
+     * @throws NullPointerException if the given title is null
+     */
+    public void add(int row, String title) {
+        Objects.requireNonNull(title, "Given title must not be null.");
+
+        String lowerTitle = title.toLowerCase();
+        for (int i = 0; i + GRAM_LENGTH <= lowerTitle.length(); i++) {
+            int slot = slotOf(trigram(lowerTitle, i), true);
+            int count = counts[slot];
+            int[] posting = postings[slot];
+            // a title containing the same trigram twice is only listed once
+            if (count > 0 && posting[count - 1] == row) {
+                continue;
+            }
+            if (count == posting.length) {
+                posting = Arrays.copyOf(posting, Math.max(2, count + (count >> 1)));
+                postings[slot] = posting;
+            }
+            posting[count] = row;
+            counts[slot] = count + 1;
+        }
+    }
+
+    /**
+     * Move all rows to the positions they take after rows were removed
+     * from the library. Rows moved to a negative position are dropped,
+     * and trigrams left without rows are dropped with them.
+     *
+     * Every posting is visited once. Rows keep their order, as the new
+     * positions of the remaining rows are ascending.
+     *
+     * @param newRows new position of each row, negative for removed rows
+     * @throws NullPointerException if the given array is null
+     */
+    public void remap(int[] newRows) {
+        Objects.requireNonNull(newRows, "Given rows must not be null.");
+
+        boolean emptied = false;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == 0) {
+                continue;
+            }
+            int[] posting = postings[slot];
+            int kept = 0;
+            for (int i = 0; i < counts[slot]; i++) {
+                int row = newRows[posting[i]];
+                if (row >= 0) {
+                    posting[kept++] = row;
+                }
+            }
+            counts[slot] = kept;
+            emptied |= kept == 0;
+        }
+        if (emptied) {
+            rehash(keys.length);
+        }
+    }
+
+    /** Remove all entries from the index. */
+    public void clear() {
+        keys = new long[INITIAL_CAPACITY];
+        postings = new int[INITIAL_CAPACITY][];
+        counts = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Find the rows of all titles containing the given term, ignoring case.
+     *
+     * The shortest posting of the trigrams in the term gives the
+     * candidates, whose titles are then checked against the term. Terms
+     * shorter than a trigram are checked against the titles of all rows.
+     *
+     * @param term search term
+     * @param titles title of each row of the library
+     * @param rowCount number of rows in the library
+     * @return matching rows in ascending order
+     * @throws NullPointerException if one of the given objects is null
+     */
+    public int[] search(String term, IntFunction<String> titles, int rowCount) {
+        Objects.requireNonNull(term, "Given term must not be null.");
+        Objects.requireNonNull(titles, "Given titles must not be null.");
+
+        String lowerTerm = term.toLowerCase();
+        int[] candidates = null;
+        int candidateCount = rowCount;
+        for (int i = 0; i + GRAM_LENGTH <= lowerTerm.length(); i++) {
+            int slot = slotOf(trigram(lowerTerm, i), false);
+            if (slot < 0) {
+                return NO_ROWS;
+            }
+            if (counts[slot] < candidateCount) {
+                candidates = postings[slot];
+                candidateCount = counts[slot];
+            }
+        }
+
+        int[] found = new int[candidateCount];
+        int foundCount = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int row = candidates == null ? i : candidates[i];
+            if (titles.apply(row).toLowerCase().contains(lowerTerm)) {
+                found[foundCount++] = row;
+            }
+        }
+        return Arrays.copyOf(found, foundCount);
+    }
+
+    /**
+     * Find the slot of the given trigram.
+     * @param trigram packed trigram
+     * @param insert true to occupy a new slot if the trigram is not in the index
+     * @return slot of the trigram, or -1 if it is not in the index and not inserted
+     */
+    private int slotOf(long trigram, boolean insert) {
+        long key = trigram | USED;
+        int mask = keys.length - 1;
+        int slot = home(key, keys.length);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (!insert) {
+            return -1;
+        }
+        // keep the load factor at or below one half
+        if (2 * (size + 1) > keys.length) {
+            rehash(keys.length * 2);
+            return slotOf(trigram, true);
+        }
+        keys[slot] = key;
+        postings[slot] = NO_ROWS;
+        size++;
+        return slot;
+    }
+
+    /**
+     * Move all trigrams with at least one row into a table with the
+     * given number of slots.
+     * @param capacity new number of slots, a power of two
+     */
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[][] oldPostings = postings;
+        int[] oldCounts = counts;
+        keys = new long[capacity];
+        postings = new int[capacity][];
+        counts = new int[capacity];
+        size = 0;
+
+        int mask = capacity - 1;
+        for (int old = 0; old < oldKeys.length; old++) {
+            if (oldKeys[old] != 0 && oldCounts[old] > 0) {
+                int slot = home(oldKeys[old], capacity);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[old];
+                postings[slot] = oldPostings[old];
+                counts[slot] = oldCounts[old];
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Home slot of the given key.
+     * @param key packed trigram with the USED bit set
+     * @param capacity number of slots, a power of two
+     * @return slot the probe sequence of the key starts at
+     */
+    private static int home(long key, int capacity) {
+        return (int) ((key * SPREAD) >>> (64 - Integer.numberOfTrailingZeros(capacity)));
+    }
+
+    /**
+     * Pack the trigram starting at the given position into a long.
+     * @param text lower case text
+     * @param start position of the first character of the trigram
+     * @return packed trigram
+     */
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32)
+            | ((long) text.charAt(start + 1) << 16)
+            | text.charAt(start + 2);
+    }
+}
@@ -0,0 +1,109 @@
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Subclass of superclass Library Command
+ * Designed for listing the best rated, longest or shortest books in Library
+ */
+public class TopCmd extends LibraryCommand {
+    /** Initialises int bookCount.
+     * This is used to store how many books the user wants to see */
+    private int bookCount;
+    /** Initialises boolean byRating.
+     * This is used to store whether books are ranked by rating or by pages */
+    private boolean byRating;
+    /** Initialises boolean descending.
+     * This is used to store whether the largest values are ranked first */
+    private boolean descending;
+    /** Method TopCmd
+     * Instantiates TopCmd object with TOP
+     from Command type enum and argumentInput
+     * Input Parameters
+     * @param argumentInput stores string from user input following "TOP"
+     */
+    public TopCmd(String argumentInput) {
+        super(CommandType.TOP, argumentInput);
+    }
+    @Override//parseArguments
+    /** Method parseArguments
+     * Verifies argumentInput is valid before executing command
+     * 1. Checks if argument is Null and reports error if it is.
+     * 2. Splits the user input at spaces. Two or three parts are expected
+     * 3. Reads the number of books, which has to be positive
+     * 4. Reads the attribute to rank by, which is "rating" or "pages"
+     * 5. Reads the optional order, "asc" or "desc". Without an order the
+     largest values are ranked first
+     * Input Parameters:
+     * @param argumentInput contains input from user
+     * Output Parameters:
+     * @return boolean used for verification of inputArgument
+     * Exceptions:
+     * @throws NullPointerException if argumentInput is empty*/
+    protected boolean parseArguments(String argumentInput) {
+        // 1.
+        Objects.requireNonNull(argumentInput);
+        // 2.
+        String[] parts = argumentInput.trim().toLowerCase().split("\\s+");
+        if (parts.length < 2 || parts.length > 3) {
+            return false;
+        }
+        // 3.
+        try {
+            bookCount = Integer.parseInt(parts[0]);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        // 4.
+        byRating = parts[1].equals("rating");
+        // 5.
+        descending = parts.length == 2 || parts[2].equals("desc");
+        return bookCount > 0
+            && (byRating || parts[1].equals("pages"))
+            && (descending || parts[2].equals("asc"));
+    }
+    @Override//getCanonicalArgument
+    /** Method getCanonicalArgument: count, field and order, with the default order spelled out */
+    public String getCanonicalArgument() {
+        return bookCount + (byRating ? " rating" : " pages") + (descending ? " desc" : " asc");
+    }
+    @Override//isReadOnly
+    /** Method isReadOnly: true, as the ranking only reads ratings and page counts */
+    public boolean isReadOnly() {
+        return true;
+    }
+    @Override//execute
+    /** Method execute
+     * Executes TopCmd Command on provided number of books and ranking
+     * 1. Checks if the library data provided is null
+     * 2. Checks if there are any books in the library. If it is empty,
+     the appropriate message will be printed
+     * 3. Gets the best ranked books from the library data, which selects
+     them without sorting the whole library. Books with the same value
+     are ordered by ISBN
+     * 4. Prints the books in the same format as LIST long, best ranked first
+     * Input Parameters:
+     * @param data contains all the data from the library
+     * @param out receives the output of the command
+     * Output Parameters:
+     * @return true, selecting the top books cannot fail
+     * Exceptions:
+     * @throws NullPointerException if data is null
+     */
+    public boolean execute(LibraryData data, CommandOutput out) {
+        // 1.
+        Objects.requireNonNull(data, "Given argument input must not be null.");
+        // 2.
+        if (data.getBookData().isEmpty()) {
+            out.println("The library has no books");
+            return true;
+        }
+        // 3.
+        List<BookEntry> topBooks = data.topBooks(bookCount, byRating, descending);
+        // 4.
+        for (BookEntry book : topBooks) {
+            out.print(book.toString());
+            out.println("\n");
+        }
+        return true;
+    }
+}
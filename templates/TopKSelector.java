@@ -0,0 +1,260 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Selects the k highest or lowest ranked book entries by rating or page
+ * count without sorting the whole library.
+ *
+ * The book list is scanned with a bounded heap holding the positions of
+ * the best k entries seen so far, which takes O(n log k) time and
+ * O(min(k, n)) memory. Large lists are scanned in parallel, each task
+ * filling its own heap, and the heaps are merged pairwise into a single
+ * one as the tasks complete. The final heap is sorted in place.
+ *
+ * Ties are broken by ISBN and then by position, so the selection is the
+ * same no matter how the list is split. Each heap keeps the packed ISBN
+ * of its entries next to their positions, parsed only when an entry
+ * first takes part in a tie, so no ISBN is parsed again for later ties.
+ */
+public class TopKSelector {
+
+    /** Smallest number of entries for which the list is scanned in parallel. */
+    private static final int PARALLEL_THRESHOLD = 64 * 1024;
+
+    /** Initial capacity of a heap, which grows up to k as needed. */
+    private static final int INITIAL_HEAP_CAPACITY = 16;
+
+    /** Marks an entry whose ISBN key has not been computed yet. Never a packed ISBN. */
+    private static final long UNKNOWN_ISBN_KEY = 0;
+
+    /** Book entries to select from. */
+    private final List<BookEntry> books;
+
+    /** Columnar view of the books, read without creating entries, or null. */
+    private final ColumnarBookList columns;
+
+    /** Rank by rating if true, by page count otherwise. */
+    private final boolean byRating;
+
+    /** Rank the largest values first if true, the smallest otherwise. */
+    private final boolean descending;
+
+    /**
+     * Create a selector over the given book entries.
+     *
+     * @param books book entries to select from, not changed during selection
+     * @param byRating true to rank by rating, false to rank by page count
+     * @param descending true to rank the largest values first
+     * @throws NullPointerException if the given list is null
+     */
+    public TopKSelector(List<BookEntry> books, boolean byRating, boolean descending) {
+        this.books = Objects.requireNonNull(books, "Given books must not be null.");
+        this.columns = books instanceof ColumnarBookList ? (ColumnarBookList) books : null;
+        this.byRating = byRating;
+        this.descending = descending;
+    }
+
+    /**
+     * Select the k best ranked book entries.
+     *
+     * @param k number of entries to be selected
+     * @return at most k book entries, best ranked first
+     * @throws IllegalArgumentException if k is not positive
+     */
+    public List<BookEntry> select(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Number of books must be positive: " + k);
+        }
+
+        IntStream positions = IntStream.range(0, books.size());
+        if (books.size() >= PARALLEL_THRESHOLD) {
+            positions = positions.parallel();
+        }
+        BoundedHeap best = positions.collect(() -> new BoundedHeap(k), BoundedHeap::offer, BoundedHeap::offerAll);
+
+        int[] ranked = best.sortBestFirst();
+        List<BookEntry> selected = new ArrayList<>(ranked.length);
+        for (int position : ranked) {
+            selected.add(books.get(position));
+        }
+        return selected;
+    }
+
+    /**
+     * Heap of at most k entries whose root is its worst ranked entry.
+     * Its arrays only grow as far as needed, so heaps of small parts of
+     * the list stay small even for a large k. One slot after the entries
+     * holds the entry offered to a full heap while it is compared.
+     */
+    private final class BoundedHeap {
+
+        /** Largest number of entries kept. */
+        private final int limit;
+        /** Position of each entry, in heap order. */
+        private int[] positions;
+        /** ISBN key of each entry, or UNKNOWN_ISBN_KEY until first needed. */
+        private long[] isbnKeys;
+        /** Number of entries in the heap. */
+        private int size;
+
+        BoundedHeap(int limit) {
+            this.limit = limit;
+            positions = new int[Math.min(limit, INITIAL_HEAP_CAPACITY) + 1];
+            isbnKeys = new long[positions.length];
+        }
+
+        /**
+         * Offer an entry. Once the heap is full, the root is replaced if
+         * the offered entry ranks better.
+         * @param position position of the offered entry
+         */
+        void offer(int position) {
+            offer(position, UNKNOWN_ISBN_KEY);
+        }
+
+        /**
+         * Offer all entries of another heap, with the ISBN keys already known.
+         * @param other heap to be merged into this one
+         */
+        void offerAll(BoundedHeap other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.positions[i], other.isbnKeys[i]);
+            }
+        }
+
+        /**
+         * Sort the heap in place by moving the worst ranked root to the
+         * end, one entry after the other.
+         * @return positions of the entries, best ranked first
+         */
+        int[] sortBestFirst() {
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(end);
+            }
+            return Arrays.copyOf(positions, size);
+        }
+
+        /**
+         * Offer an entry whose ISBN key may already be known.
+         * @param position position of the offered entry
+         * @param isbnKey ISBN key of the entry, or UNKNOWN_ISBN_KEY
+         */
+        private void offer(int position, long isbnKey) {
+            if (size == positions.length - 1 && size < limit) {
+                int capacity = (int) Math.min(limit, 2L * size) + 1;
+                positions = Arrays.copyOf(positions, capacity);
+                isbnKeys = Arrays.copyOf(isbnKeys, capacity);
+            }
+            // the slot after the entries, free in both cases
+            positions[size] = position;
+            isbnKeys[size] = isbnKey;
+            if (size < limit) {
+                siftUp(size);
+                size++;
+            } else if (compare(size, 0) < 0) {
+                positions[0] = positions[size];
+                isbnKeys[0] = isbnKeys[size];
+                siftDown(size);
+            }
+        }
+
+        /** Move the given entry up until its parent ranks better. */
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (compare(parent, index) >= 0) {
+                    break;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        /** Move the root down until both children among the first entries rank better. */
+        private void siftDown(int end) {
+            int index = 0;
+            while (2 * index + 1 < end) {
+                int child = 2 * index + 1;
+                if (child + 1 < end && compare(child + 1, child) > 0) {
+                    child++;
+                }
+                if (compare(child, index) <= 0) {
+                    break;
+                }
+                swap(index, child);
+                index = child;
+            }
+        }
+
+        /** Exchange two entries of the heap. */
+        private void swap(int first, int second) {
+            int position = positions[first];
+            positions[first] = positions[second];
+            positions[second] = position;
+            long isbnKey = isbnKeys[first];
+            isbnKeys[first] = isbnKeys[second];
+            isbnKeys[second] = isbnKey;
+        }
+
+        /**
+         * Compare the ranks of two entries of the heap.
+         * @param first slot of the first entry
+         * @param second slot of the second entry
+         * @return negative if the first entry ranks better, positive if it ranks worse
+         */
+        private int compare(int first, int second) {
+            int firstPosition = positions[first];
+            int secondPosition = positions[second];
+            int byValue;
+            if (byRating) {
+                // adding 0 makes -0.0 and 0.0 rank the same
+                byValue = Float.compare(ratingAt(firstPosition) + 0.0f, ratingAt(secondPosition) + 0.0f);
+            } else {
+                byValue = Integer.compare(pagesAt(firstPosition), pagesAt(secondPosition));
+            }
+            if (byValue != 0) {
+                return descending ? -byValue : byValue;
+            }
+
+            int byIsbn = Long.compare(isbnKey(first), isbnKey(second));
+            if (byIsbn == 0) {
+                // equal keys, e.g. invalid ISBNs or ISBN-10 and ISBN-13 of the same book
+                byIsbn = isbnAt(firstPosition).compareTo(isbnAt(secondPosition));
+            }
+            return byIsbn != 0 ? byIsbn : Integer.compare(firstPosition, secondPosition);
+        }
+
+        /**
+         * Packed ISBN-13 used to order ISBNs, invalid ISBNs are ordered last.
+         * Parsed when first needed and kept with the entry.
+         * @param slot slot of the entry
+         * @return ISBN key of the entry
+         */
+        private long isbnKey(int slot) {
+            if (isbnKeys[slot] == UNKNOWN_ISBN_KEY) {
+                long key = Isbn.parseStored(isbnAt(positions[slot]));
+                isbnKeys[slot] = key == Isbn.INVALID ? Long.MAX_VALUE : key;
+            }
+            return isbnKeys[slot];
+        }
+    }
+
+    /** @return rating of the entry at the given position */
+    private float ratingAt(int position) {
+        return columns != null ? columns.getRating(position) : books.get(position).getRating();
+    }
+
+    /** @return page count of the entry at the given position */
+    private int pagesAt(int position) {
+        return columns != null ? columns.getPages(position) : books.get(position).getPages();
+    }
+
+    /** @return ISBN of the entry at the given position */
+    private String isbnAt(int position) {
+        return columns != null ? columns.getISBN(position) : books.get(position).getISBN();
+    }
+}
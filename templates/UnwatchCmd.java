@@ -0,0 +1,77 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+/**
+ * Subclass of superclass Library Command
+ * Designed for stopping to add books to Library from a directory watched
+ with the WATCH command
+ */
+public class UnwatchCmd extends LibraryCommand {
+    /** Initialises Path watchPath.
+     * This is used to store the directory received from the user input */
+    private Path watchPath;
+    /** Method UnwatchCmd
+     * Instantiates UnwatchCmd object with UNWATCH
+     from Command type enum and argumentInput
+     * Input Parameters
+     * @param argumentInput stores string from user input following "UNWATCH"
+     */
+    public UnwatchCmd(String argumentInput) {
+        super(CommandType.UNWATCH, argumentInput);
+    }
+    @Override//parseArguments
+    /** Method parseArguments
+     * Verifies argumentInput is valid before executing command
+     * 1. Checks if argument is Null and reports error if it is.
+     * 2. Assigns the boolean validEntry false for the input validity
+     * 3. Checks if the user input is not blank. If it is, validEntry will
+     remain false
+     * 4. Assigns the Path watchPath declared earlier to the trimmed user
+     input and sets validEntry to true
+     * Input Parameters:
+     * @param argumentInput contains input from user
+     * Output Parameters:
+     * @return boolean validEntry used for verification of inputArgument
+     * Exceptions:
+     * @throws NullPointerException if argumentInput is empty*/
+    protected boolean parseArguments(String argumentInput) {
+        // 1.
+        Objects.requireNonNull(argumentInput);
+        // 2.
+        boolean validEntry = false;
+        // 3.
+        if (!argumentInput.isBlank()) {
+            // 4.
+            watchPath = Paths.get(argumentInput.trim());
+            validEntry = true;
+        }
+        return validEntry;
+    }
+    @Override//locksItself
+    /** Method locksItself: true, as stopping waits for a merge of the watcher, which takes the write lock */
+    public boolean locksItself() {
+        return true;
+    }
+    @Override//execute
+    /** Method execute
+     * Executes UnwatchCmd Command with provided directory
+     * 1. Checks if the library data provided is null
+     * 2. Calls unwatchDirectory function from the Library data class, which
+     stops adding new files and newly appended lines of the directory
+     * Input Parameters:
+     * @param data contains all the data from the library
+     * @param out receives the output of the command
+     * Output Parameters:
+     * @return true if the directory is not watched anymore, false if it was
+     not watched
+     * Exceptions:
+     * @throws NullPointerException if data is null
+     */
+    public boolean execute(LibraryData data, CommandOutput out) {
+        // 1.
+        Objects.requireNonNull(data, "Given argument input must not be null.");
+        // 2.
+        return data.unwatchDirectory(watchPath, out);
+    }
+}
@@ -0,0 +1,77 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+/**
+ * Subclass of superclass Library Command
+ * Designed for continuously adding books to Library from the book data
+ files in a directory
+ */
+public class WatchCmd extends LibraryCommand {
+    /** Initialises Path watchPath.
+     * This is used to store the directory received from the user input */
+    private Path watchPath;
+    /** Method WatchCmd
+     * Instantiates WatchCmd object with WATCH
+     from Command type enum and argumentInput
+     * Input Parameters
+     * @param argumentInput stores string from user input following "WATCH"
+     */
+    public WatchCmd(String argumentInput) {
+        super(CommandType.WATCH, argumentInput);
+    }
+    @Override//parseArguments
+    /** Method parseArguments
+     * Verifies argumentInput is valid before executing command
+     * 1. Checks if argument is Null and reports error if it is.
+     * 2. Assigns the boolean validEntry false for the input validity
+     * 3. Checks if the user input is not blank. If it is, validEntry will
+     remain false
+     * 4. Assigns the Path watchPath declared earlier to the trimmed user
+     input and sets validEntry to true
+     * Input Parameters:
+     * @param argumentInput contains input from user
+     * Output Parameters:
+     * @return boolean validEntry used for verification of inputArgument
+     * Exceptions:
+     * @throws NullPointerException if argumentInput is empty*/
+    protected boolean parseArguments(String argumentInput) {
+        // 1.
+        Objects.requireNonNull(argumentInput);
+        // 2.
+        boolean validEntry = false;
+        // 3.
+        if (!argumentInput.isBlank()) {
+            // 4.
+            watchPath = Paths.get(argumentInput.trim());
+            validEntry = true;
+        }
+        return validEntry;
+    }
+    @Override//locksItself
+    /** Method locksItself: true, as the files already in the directory are read before merging them */
+    public boolean locksItself() {
+        return true;
+    }
+    @Override//execute
+    /** Method execute
+     * Executes WatchCmd Command with provided directory
+     * 1. Checks if the library data provided is null
+     * 2. Calls watchDirectory function from the Library data class, which
+     adds the book data files already in the directory and then keeps adding
+     new files and newly appended lines in the background
+     * Input Parameters:
+     * @param data contains all the data from the library
+     * @param out receives the output of the command
+     * Output Parameters:
+     * @return true if the directory is watched, false if an error was reported
+     * Exceptions:
+     * @throws NullPointerException if data is null
+     */
+    public boolean execute(LibraryData data, CommandOutput out) {
+        // 1.
+        Objects.requireNonNull(data, "Given argument input must not be null.");
+        // 2.
+        return data.watchDirectory(watchPath, out);
+    }
+}
@@ -1,14 +1,26 @@
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class AddCmdBasicTest extends CommandTest {
 
     private static final String TEST_PATH = "booksTestData01.csv";
+    private static final String MALFORMED_TEST_PATH = "booksTestData02.csv";
+
+    private Path testDirectory;
 
     @Override
     protected CommandType getCmdType() {
@@ -25,6 +37,26 @@ public class AddCmdBasicTest extends CommandTest {
         FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
     }
 
+    @After
+    public void cleanup() throws IOException {
+        if (testDirectory != null) {
+            try (Stream<Path> files = Files.walk(testDirectory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    // ------------------------- helpers ---------------------------------
+
+    private Path copyTestData(String testDataPath, String fileName) throws IOException {
+        if (testDirectory == null) {
+            testDirectory = Files.createTempDirectory("add-test");
+        }
+        Path file = testDirectory.resolve(fileName);
+        Files.createDirectories(file.getParent());
+        return Files.copy(Paths.get(testDataPath), file);
+    }
+
     // ------------------------- parseArguments tests --------------------
     
     @Test
@@ -35,12 +67,22 @@ public class AddCmdBasicTest extends CommandTest {
         CommandTestUtils.checkArgumentInput(testCommand, false, invalidPath);
         invalidPath = "this/is/not/a/csv/file.txt";
         CommandTestUtils.checkArgumentInput(testCommand, false, invalidPath);
+        invalidPath = "README";
+        CommandTestUtils.checkArgumentInput(testCommand, false, invalidPath);
+        invalidPath = "this/is/no/directory/";
+        CommandTestUtils.checkArgumentInput(testCommand, false, invalidPath);
     }
 
     @Test
-    public void testParseArgumentsLegalArgument() {
+    public void testParseArgumentsLegalArgument() throws IOException {
+        copyTestData(TEST_PATH, "books.csv");
+
         CommandTestUtils.checkArgumentInput(testCommand, true, TEST_PATH);
         CommandTestUtils.checkArgumentInput(testCommand, true, "this/is/some/test/path/for/books.csv");
+        CommandTestUtils.checkArgumentInput(testCommand, true, testDirectory.toString());
+        CommandTestUtils.checkArgumentInput(testCommand, true, testDirectory + "/");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "this/is/**/*.csv");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "this/is/some/*");
     }
 
     // ------------------------- execute tests --------------------
@@ -65,4 +107,56 @@ public class AddCmdBasicTest extends CommandTest {
                     expectedBookValues.get(i));
         }
     }
+
+    @Test
+    public void testExecuteMalformedLine() {
+        testCommand = new AddCmd(MALFORMED_TEST_PATH);
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, "1 new book entries added.");
+
+        List<BookEntry> books = testLibrary.getBookData();
+        assertEquals("Unexpected amount of books in library after loading file with malformed line.", 2, books.size());
+        BookEntryTestUtils.checkBookFieldValues(books.get(1), BookEntryBasicTest.BOOK_ENTRY_FIELD_NAMES,
+                new Object[] { "The Changeling", new String[] { "Zilpha Keatley Snyder" }, 4.17f, "595321801", 228 });
+    }
+
+    @Test
+    public void testExecuteDirectoryWithMalformedFile() throws IOException {
+        copyTestData(MALFORMED_TEST_PATH, "a.csv");
+        copyTestData(TEST_PATH, "b.csv");
+        testCommand = new AddCmd(testDirectory.toString());
+
+        String[] expectedConsoleOutput = new String[] { "1 new book entries added.", "1 new book entries added." };
+        CommandTestUtils.checkExecuteConsoleOutputLines(expectedConsoleOutput, testCommand, testLibrary);
+        assertEquals("Unexpected amount of books in library after loading files.", 3, testLibrary.getBookData().size());
+
+        testLibrary = new LibraryData();
+        assertFalse("Loading files with malformed line not reported as failure.", testCommand.execute(testLibrary));
+        assertEquals("Unexpected amount of books in library after loading files.", 2, testLibrary.getBookData().size());
+    }
+
+    @Test
+    public void testExecuteGlobAnyDirectories() throws IOException {
+        copyTestData(TEST_PATH, "books.csv");
+        copyTestData(MALFORMED_TEST_PATH, "sub/dir/books.csv");
+        copyTestData(TEST_PATH, "sub/books.txt");
+        testCommand = new AddCmd(testDirectory + "/**/*.csv");
+
+        assertFalse("Loading files with malformed line not reported as failure.", testCommand.execute(testLibrary));
+        assertEquals("Unexpected amount of books in library after loading files.", 3, testLibrary.getBookData().size());
+
+        testLibrary = new LibraryData();
+        testCommand = new AddCmd(testDirectory + "/*.csv");
+        assertTrue("Loading single matching file failed.", testCommand.execute(testLibrary));
+        assertEquals("Unexpected amount of books in library after loading files.", 2, testLibrary.getBookData().size());
+    }
+
+    @Test
+    public void testExecuteLiteralGlobCharacters() throws IOException {
+        Path file = copyTestData(TEST_PATH, "books[1].csv");
+        copyTestData(MALFORMED_TEST_PATH, "books1.csv");
+        testCommand = new AddCmd(file.toString());
+
+        assertTrue("Loading file with glob characters in its name failed.", testCommand.execute(testLibrary));
+        assertEquals("Unexpected amount of books in library after loading file.", 3, testLibrary.getBookData().size());
+    }
 }
@@ -132,6 +132,21 @@ public class BookEntryBasicTest extends BookEntryTest {
         checkEquality(bookA, bookB, PAGES_FIELD_NAME, false);
     }
 
+    @Test
+    public void testCanonicalizeAuthors() {
+        AuthorDictionary authorNames = new AuthorDictionary();
+        String canonical = authorNames.canonical(new String("Author B"));
+        BookEntry book = new BookEntry(DEFAULT_TITLE, new String[] { new String("Author B"), "Author A" },
+                DEFAULT_RATING, DEFAULT_ISBN, DEFAULT_PAGES);
+        int hash = book.hashCode();
+
+        book.canonicalizeAuthors(authorNames);
+
+        assertTrue("Author not replaced by canonical instance.", book.getAuthorList().get(1) == canonical);
+        assertEquals("Authors changed by canonical instances.", "Author A, Author B", book.getAuthorsKey());
+        assertEquals("Hashcode changed by canonical instances.", hash, book.hashCode());
+    }
+
     // ------------------------- check toString --------------------
 
     @Test
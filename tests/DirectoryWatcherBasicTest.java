@@ -0,0 +1,127 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DirectoryWatcherBasicTest {
+
+    private static final String HEADER = "title,authors,average_rating,isbn,# num_pages\n";
+    private static final String LINE_A = "Book A,Author A,4.17,595321801,228\n";
+    private static final String LINE_B = "Book B,Author B,3.91,452284244,122\n";
+    private static final String LINE_C = "Book C,Author C,3.91,452284245,122\n";
+
+    private static final long WAIT_MILLIS = 10_000;
+
+    private Path testDirectory;
+    private LibraryData testLibrary;
+    private CommandOutput testOutput;
+    private DirectoryWatcher testWatcher;
+
+    @Before
+    public void setup() throws IOException {
+        testDirectory = Files.createTempDirectory("watch-test");
+        testLibrary = new LibraryData();
+        testOutput = new CommandOutput(new StringWriter());
+        testWatcher = new DirectoryWatcher(testLibrary, testDirectory, testOutput);
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        testWatcher.close();
+        try (Stream<Path> files = Files.walk(testDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    // ------------------------- test helpers ----------------------------
+
+    private Path writeBookData(String fileName, String content) throws IOException {
+        return Files.writeString(testDirectory.resolve(fileName), content);
+    }
+
+    private void awaitBookCount(int expectedCount) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (testLibrary.getBookData().size() != expectedCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals("Unexpected amount of books in library.", expectedCount, testLibrary.getBookData().size());
+    }
+
+    // ------------------------- start tests --------------------
+
+    @Test
+    public void testStartMergesExistingFiles() throws IOException {
+        writeBookData("books.csv", HEADER + LINE_A + LINE_B);
+        writeBookData("notes.txt", HEADER + LINE_C);
+
+        testWatcher.start(testOutput);
+
+        assertEquals("Unexpected amount of books in library.", 2, testLibrary.getBookData().size());
+    }
+
+    // ------------------------- change tests --------------------
+
+    @Test
+    public void testAppendedLinesMerged() throws IOException, InterruptedException {
+        Path file = writeBookData("books.csv", HEADER + LINE_A);
+        testWatcher.start(testOutput);
+
+        Files.writeString(file, LINE_B, StandardOpenOption.APPEND);
+        awaitBookCount(2);
+
+        writeBookData("more.csv", HEADER + LINE_C);
+        awaitBookCount(3);
+    }
+
+    @Test
+    public void testRewrittenFileReadAgain() throws IOException, InterruptedException {
+        Path file = writeBookData("books.csv", HEADER + LINE_A + LINE_B);
+        testWatcher.start(testOutput);
+        FileTime lastModified = Files.getLastModifiedTime(file);
+
+        // same size as before, only the modification time tells the change
+        writeBookData("books.csv", HEADER + LINE_A + LINE_C);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified.toMillis() + 2_000));
+        awaitBookCount(3);
+
+        writeBookData("books.csv", HEADER + LINE_B);
+        awaitBookCount(3);
+    }
+
+    // ------------------------- close tests --------------------
+
+    @Test
+    public void testCloseStopsWatching() throws IOException {
+        testWatcher.start(testOutput);
+        Thread thread = (Thread) FieldTestUtils.getPrivateField(testWatcher, DirectoryWatcher.class, "thread");
+        assertTrue("Watching thread not started.", thread.isAlive());
+
+        testWatcher.close();
+
+        assertFalse("Watching thread still running after close.", thread.isAlive());
+    }
+
+    @Test
+    public void testUnwatchDirectory() throws IOException {
+        writeBookData("books.csv", HEADER + LINE_A);
+
+        assertTrue("Directory not watched.", testLibrary.watchDirectory(testDirectory, testOutput));
+        assertTrue("Watching not stopped.", testLibrary.unwatchDirectory(testDirectory, testOutput));
+        assertFalse("Watching stopped twice.", testLibrary.unwatchDirectory(testDirectory, testOutput));
+        assertTrue("Directory not watched again.", testLibrary.watchDirectory(testDirectory, testOutput));
+        assertEquals("Unexpected amount of books in library.", 1, testLibrary.getBookData().size());
+        assertTrue("Watching not stopped.", testLibrary.unwatchDirectory(testDirectory, testOutput));
+    }
+}
@@ -0,0 +1,79 @@
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+
+public class FilterCmdBasicTest extends FilterCmdTest {
+
+    // ------------------------- parseArguments tests --------------------
+
+    @Test
+    public void testParseArgumentsIllegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, false, BLANK_ARGUMENT);
+        CommandTestUtils.checkArgumentInput(testCommand, false, "rating");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "rating>>3");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "title=TitleA");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "rating>=3 pages");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "pages>3.5");
+    }
+
+    @Test
+    public void testParseArgumentsLegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, true, "rating>=3.2");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "pages < 300 rating>1");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "RATING=4.3");
+    }
+
+    // ------------------------- execute tests --------------------
+
+    @Test
+    public void testExecuteInclusiveBounds() {
+        checkFilter("rating>=3.2", "TitleA", "TitleB", "TitleD");
+        checkFilter("rating<=3.2", "TitleA", "TitleC");
+        checkFilter("pages>=400", "TitleA", "TitleB");
+        checkFilter("pages<=300", "TitleC", "TitleD");
+        checkFilter("rating=4.3", "TitleB", "TitleD");
+        checkFilter("pages=300", "TitleC", "TitleD");
+    }
+
+    @Test
+    public void testExecuteExclusiveBounds() {
+        checkFilter("rating>3.2", "TitleB", "TitleD");
+        checkFilter("rating<3.2", "TitleC");
+        checkFilter("pages>400", "TitleA");
+        checkFilter("pages<400", "TitleC", "TitleD");
+    }
+
+    @Test
+    public void testExecuteCombinedBounds() {
+        checkFilter("rating>4 pages<400", "TitleD");
+        checkFilter("pages>=300 pages<500 rating<=4.3", "TitleB", "TitleC", "TitleD");
+    }
+
+    @Test
+    public void testExecuteEmptyRanges() {
+        checkFilter("pages<300");
+        checkFilter("rating>4.3");
+        checkFilter("rating>4 rating<2");
+        checkFilter("pages>=500 pages<500");
+        checkFilter("pages>99999999999");
+        checkFilter("rating=4.2");
+    }
+
+    @Test
+    public void testExecuteAfterChanges() {
+        // the first filter builds the range indexes, which the changes then update
+        checkFilter("pages<=300", "TitleC", "TitleD");
+
+        testLibrary.mergeEntries(List.of(
+            new BookEntry("TitleE", new String[] { "AuthorE" }, 2.0f, "ISBNE", 300),
+            new BookEntry("TitleF", new String[] { "AuthorF" }, 4.3f, "ISBNF", 200)), new CommandOutput(new StringWriter()));
+        checkFilter("pages<=300", "TitleC", "TitleD", "TitleE", "TitleF");
+        checkFilter("rating=4.3", "TitleB", "TitleD", "TitleF");
+
+        new RemoveCmd(TITLE_ARGUMENT + " TitleD").execute(testLibrary);
+        checkFilter("pages<=300", "TitleC", "TitleE", "TitleF");
+        checkFilter("rating=4.3", "TitleB", "TitleF");
+        checkFilter("rating>=0", "TitleA", "TitleB", "TitleC", "TitleE", "TitleF");
+    }
+}
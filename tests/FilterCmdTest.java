@@ -0,0 +1,37 @@
+import org.junit.Before;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public abstract class FilterCmdTest extends CommandTest {
+
+    protected static final String NO_BOOKS_FOUND_MESSAGE = "No books found for filter: ";
+
+    @Override
+    protected CommandType getCmdType() {
+        return CommandType.FILTER;
+    }
+
+    @Before
+    public void setup() {
+        testCommand = new FilterCmd("rating>=3.2");
+
+        testLibrary = new LibraryData();
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("TitleA", new String[] { "AuthorA" }, 3.2f, "ISBNA", 500));
+        bookData.add(new BookEntry("TitleB", new String[] { "AuthorB" }, 4.3f, "ISBNB", 400));
+        bookData.add(new BookEntry("TitleC", new String[] { "AuthorC" }, 1.3f, "ISBNC", 300));
+        bookData.add(new BookEntry("TitleD", new String[] { "AuthorD" }, 4.3f, "ISBND", 300));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+    }
+
+    // ------------------------- helpers ---------------------------------
+
+    protected void checkFilter(String filter, String... expectedTitles) {
+        testCommand = new FilterCmd(filter);
+        String expectedOutput = expectedTitles.length == 0
+            ? NO_BOOKS_FOUND_MESSAGE + filter
+            : String.join("\n", expectedTitles);
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedOutput);
+    }
+}
@@ -1,8 +1,11 @@
 import org.junit.Test;
 
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class GroupCmdBasicTest extends GroupCmdTest {
@@ -70,6 +73,74 @@ public class GroupCmdBasicTest extends GroupCmdTest {
         checkGroupOutputOrder(executeStdOutLines, expectedGroups);
     }
 
+    @Test
+    public void testExecuteGroupByTitleCharacterClasses() {
+        testLibrary = new LibraryData();
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("Zen Title", new String[] { "Author" }, 3.2f, "ISBN1", 500));
+        bookData.add(new BookEntry("9 Title", new String[] { "Author" }, 4.3f, "ISBN2", 400));
+        bookData.add(new BookEntry("\u00c9mile Title", new String[] { "Author" }, 1.3f, "ISBN3", 300));
+        bookData.add(new BookEntry("#1 Title", new String[] { "Author" }, 1.3f, "ISBN4", 300));
+        bookData.add(new BookEntry("1984", new String[] { "Author" }, 1.3f, "ISBN5", 300));
+        bookData.add(new BookEntry("\u00e9tude Title", new String[] { "Author" }, 1.3f, "ISBN6", 300));
+        bookData.add(new BookEntry("zebra Title", new String[] { "Author" }, 1.3f, "ISBN7", 300));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+
+        // written to a string, as non-ASCII titles depend on the console encoding
+        StringWriter output = new StringWriter();
+        CommandOutput out = new CommandOutput(output);
+        testCommand.execute(testLibrary, out);
+        out.flush();
+        String[] expectedLines = new String[] {
+            String.format(GROUP_HEADER_OUTPUT, TITLE_ARGUMENT),
+            GROUP_TITLE_PREFIX + "Z", "\tZen Title", "\tzebra Title",
+            GROUP_TITLE_PREFIX + "\u00c9", "\t\u00c9mile Title", "\t\u00e9tude Title",
+            GROUP_TITLE_PREFIX + "[0-9]", "\t1984", "\t9 Title",
+            GROUP_TITLE_PREFIX + "[Other]", "\t#1 Title"
+        };
+        assertArrayEquals("Unexpected group output.", expectedLines, output.toString().trim().split("\\R"));
+    }
+
+    @Test
+    public void testExecuteGroupByAuthorExactNames() {
+        testLibrary = new LibraryData();
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("Title 1", new String[] { "Author" }, 3.2f, "ISBN1", 500));
+        bookData.add(new BookEntry("Title 2", new String[] { "Author B" }, 4.3f, "ISBN2", 400));
+        bookData.add(new BookEntry("Title 3", new String[] { "author" }, 1.3f, "ISBN3", 300));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+
+        testCommand = new GroupCmd(AUTHOR_ARGUMENT);
+        String[] executeStdOutLines = CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary);
+        String[] expectedLines = new String[] {
+            String.format(GROUP_HEADER_OUTPUT, AUTHOR_ARGUMENT),
+            GROUP_TITLE_PREFIX + "Author", "\tTitle 1",
+            GROUP_TITLE_PREFIX + "Author B", "\tTitle 2",
+            GROUP_TITLE_PREFIX + "author", "\tTitle 3"
+        };
+        assertArrayEquals("Unexpected group output.", expectedLines, executeStdOutLines);
+    }
+
+    @Test
+    public void testExecuteGroupByAuthorCoAuthors() {
+        testLibrary = new LibraryData();
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("Title 1", new String[] { "B Author", "A Author" }, 3.2f, "ISBN1", 500));
+        bookData.add(new BookEntry("Title 2", new String[] { "A Author" }, 4.3f, "ISBN2", 400));
+        bookData.add(new BookEntry("Title 3", new String[] { "C Author", "B Author" }, 1.3f, "ISBN3", 300));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+
+        testCommand = new GroupCmd(AUTHOR_ARGUMENT);
+        String[] executeStdOutLines = CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary);
+        String[] expectedLines = new String[] {
+            String.format(GROUP_HEADER_OUTPUT, AUTHOR_ARGUMENT),
+            GROUP_TITLE_PREFIX + "A Author", "\tTitle 1", "\tTitle 2",
+            GROUP_TITLE_PREFIX + "B Author", "\tTitle 1", "\tTitle 3",
+            GROUP_TITLE_PREFIX + "C Author", "\tTitle 3"
+        };
+        assertArrayEquals("Unexpected group output.", expectedLines, executeStdOutLines);
+    }
+
     @Test
     public void testExecuteGroupByAuthorGroups() {
         testCommand = new GroupCmd(AUTHOR_ARGUMENT);
@@ -0,0 +1,79 @@
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class IsbnBasicTest {
+
+    private static final long ANIMAL_FARM = 9780452284241L;
+
+    private void checkInvalid(String text) {
+        assertEquals("Invalid ISBN accepted: " + text, Isbn.INVALID, Isbn.parse(text));
+    }
+
+    // ------------------------- parse tests --------------------
+
+    @Test
+    public void testParseIsbn10() {
+        assertEquals("Unexpected packed ISBN-10.", ANIMAL_FARM, Isbn.parse("0452284244"));
+        assertEquals("Unexpected packed ISBN-10 with hyphens.", 9780306406157L, Isbn.parse("0-306-40615-2"));
+        assertEquals("Unexpected packed ISBN-10 with check digit X.", 9780804429573L, Isbn.parse("080442957X"));
+        assertEquals("Unexpected packed ISBN-10 with check digit x.", 9780804429573L, Isbn.parse("080442957x"));
+    }
+
+    @Test
+    public void testParseIsbn13() {
+        assertEquals("Unexpected packed ISBN-13.", ANIMAL_FARM, Isbn.parse("9780452284241"));
+        assertEquals("Unexpected packed ISBN-13 with hyphens.", 9780306406157L, Isbn.parse("978-0-306-40615-7"));
+        assertEquals("Unexpected packed ISBN-13 with prefix 979.", 9791034304028L, Isbn.parse("9791034304028"));
+    }
+
+    @Test
+    public void testParseWrongCheckDigit() {
+        checkInvalid("0452284245");
+        checkInvalid("0804429570");
+        checkInvalid("9780452284242");
+        checkInvalid("9770452284242");
+    }
+
+    @Test
+    public void testParseWrongLength() {
+        checkInvalid("");
+        checkInvalid("0");
+        checkInvalid("452284244");
+        checkInvalid("04522842441");
+        checkInvalid("97804522842410");
+        checkInvalid("X");
+        checkInvalid("08044295X");
+        checkInvalid("0X44295701");
+        checkInvalid("ISBNA");
+    }
+
+    @Test
+    public void testParseStoredPadsShortIsbns() {
+        assertEquals("Stored ISBN-10 without leading zero not padded.", ANIMAL_FARM, Isbn.parseStored("452284244"));
+        assertEquals("Unexpected packed stored ISBN-10.", ANIMAL_FARM, Isbn.parseStored("0452284244"));
+        assertEquals("Unexpected packed stored ISBN-13.", ANIMAL_FARM, Isbn.parseStored("9780452284241"));
+        assertEquals("Stored ISBN with wrong check digit accepted.", Isbn.INVALID, Isbn.parseStored("452284245"));
+        assertEquals("Stored ISBN without digits accepted.", Isbn.INVALID, Isbn.parseStored(""));
+    }
+
+    // ------------------------- conversion tests --------------------
+
+    @Test
+    public void testToIsbn13() {
+        assertEquals("Unexpected ISBN-13.", "9780452284241", Isbn.toIsbn13(Isbn.parse("0452284244")));
+    }
+
+    @Test
+    public void testToIsbn10() {
+        assertEquals("Unexpected ISBN-10.", "0452284244", Isbn.toIsbn10(Isbn.parse("9780452284241")));
+        assertEquals("Unexpected ISBN-10 with check digit X.", "080442957X", Isbn.toIsbn10(9780804429573L));
+        assertNull("ISBN-10 returned for prefix 979.", Isbn.toIsbn10(9791034304028L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testToIsbn13Invalid() {
+        Isbn.toIsbn13(Isbn.INVALID);
+    }
+}
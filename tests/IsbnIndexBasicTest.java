@@ -0,0 +1,101 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class IsbnIndexBasicTest {
+
+    private static final long ISBN_A = 9780452284241L;
+    private static final long ISBN_B = 9780306406157L;
+
+    private IsbnIndex testIndex;
+
+    @Before
+    public void setup() {
+        testIndex = new IsbnIndex();
+    }
+
+    // ------------------------- add and get tests --------------------
+
+    @Test
+    public void testGetSharedIsbn() {
+        testIndex.add(ISBN_A, 0);
+        testIndex.add(ISBN_B, 1);
+        testIndex.add(ISBN_A, 2);
+
+        assertArrayEquals("Unexpected rows for shared ISBN.", new int[] { 0, 2 }, testIndex.get(ISBN_A));
+        assertArrayEquals("Unexpected rows for single ISBN.", new int[] { 1 }, testIndex.get(ISBN_B));
+        assertArrayEquals("Rows found for unknown ISBN.", new int[0], testIndex.get(9780804429573L));
+    }
+
+    @Test
+    public void testAddInvalidIsbn() {
+        assertFalse("Invalid ISBN added.", testIndex.add(Isbn.INVALID, 0));
+        assertEquals("Unexpected size of index.", 0, testIndex.size());
+        assertArrayEquals("Rows found for invalid ISBN.", new int[0], testIndex.get(Isbn.INVALID));
+    }
+
+    // ------------------------- remap tests --------------------
+
+    @Test
+    public void testRemapSharedIsbn() {
+        for (int row = 0; row < 6; row++) {
+            testIndex.add(row % 2 == 0 ? ISBN_A : ISBN_B, row);
+        }
+
+        testIndex.remap(new int[] { -1, 0, 1, -1, 2, 3 });
+
+        assertArrayEquals("Unexpected rows for ISBN A.", new int[] { 1, 2 }, testIndex.get(ISBN_A));
+        assertArrayEquals("Unexpected rows for ISBN B.", new int[] { 0, 3 }, testIndex.get(ISBN_B));
+        assertEquals("Unexpected size of index.", 4, testIndex.size());
+    }
+
+    @Test
+    public void testRemapManyCollisions() {
+        // at a load factor of one half many probe sequences collide and wrap around the table end
+        Random random = new Random(42);
+        int count = 2000;
+        long[] isbns = new long[count];
+        for (int row = 0; row < count; row++) {
+            isbns[row] = row % 7 == 0 && row > 0 ? isbns[row - 1] : 9780000000000L + random.nextInt(1_000_000_000);
+            testIndex.add(isbns[row], row);
+        }
+
+        int[] newRows = new int[count];
+        int kept = 0;
+        for (int row = 0; row < count; row++) {
+            newRows[row] = random.nextInt(3) == 0 ? -1 : kept++;
+        }
+        testIndex.remap(newRows);
+
+        assertEquals("Unexpected size of index.", kept, testIndex.size());
+        for (int row = 0; row < count; row++) {
+            int[] expected = new int[0];
+            for (int other = 0; other < count; other++) {
+                if (isbns[other] == isbns[row] && newRows[other] >= 0) {
+                    expected = Arrays.copyOf(expected, expected.length + 1);
+                    expected[expected.length - 1] = newRows[other];
+                }
+            }
+            assertArrayEquals("Unexpected rows for ISBN: " + isbns[row], expected, testIndex.get(isbns[row]));
+        }
+    }
+
+    @Test
+    public void testRemapAllRows() {
+        testIndex.add(ISBN_A, 0);
+        testIndex.add(ISBN_B, 1);
+
+        testIndex.remap(new int[] { -1, -1 });
+
+        assertEquals("Unexpected size of index.", 0, testIndex.size());
+        assertArrayEquals("Rows found after removing all rows.", new int[0], testIndex.get(ISBN_A));
+        testIndex.add(ISBN_A, 0);
+        assertArrayEquals("Unexpected rows after adding again.", new int[] { 0 }, testIndex.get(ISBN_A));
+    }
+}
@@ -16,6 +16,16 @@ public class ListCmdBasicTest extends ListCmdTest {
         CommandTestUtils.checkArgumentInput(testCommand, true, BLANK_ARGUMENT);
     }
 
+    @Test
+    public void testParseArgumentsPaging() {
+        CommandTestUtils.checkArgumentInput(testCommand, true, "long page=3 size=50");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "page=2");
+        CommandTestUtils.checkArgumentInput(testCommand, true, "short cursor=0-2 size=1");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "long page=0");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "long page=1 cursor=0-2");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "long size=x");
+    }
+
     // ------------------------- execute tests --------------------
 
     @Test
@@ -48,4 +58,20 @@ public class ListCmdBasicTest extends ListCmdTest {
 
         CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
     }
+
+    @Test
+    public void testExecuteShortListPage() {
+        testCommand = new ListCmd("page=2 size=1");
+
+        String expectedConsoleOutput = "Books 2 to 2 of 3 in library:\nTitleB\nMore books: LIST cursor=0-2 size=1";
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
+    }
+
+    @Test
+    public void testExecuteShortListCursor() {
+        testCommand = new ListCmd("short cursor=0-2 size=5");
+
+        String expectedConsoleOutput = "Books 3 to 3 of 3 in library:\nTitleC";
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
+    }
 }
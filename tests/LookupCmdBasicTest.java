@@ -0,0 +1,61 @@
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LookupCmdBasicTest extends LookupCmdTest {
+
+    // ------------------------- parseArguments tests --------------------
+
+    @Test
+    public void testParseArgumentsIllegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, false, BLANK_ARGUMENT);
+        CommandTestUtils.checkArgumentInput(testCommand, false, "0");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "452284244");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "0452284245");
+        CommandTestUtils.checkArgumentInput(testCommand, false, "ISBND");
+    }
+
+    @Test
+    public void testParseArgumentsLegalArgument() {
+        CommandTestUtils.checkArgumentInput(testCommand, true, ISBN_10_ARGUMENT);
+        CommandTestUtils.checkArgumentInput(testCommand, true, ISBN_13_ARGUMENT);
+        CommandTestUtils.checkArgumentInput(testCommand, true, " 0-452-28424-4 ");
+    }
+
+    // ------------------------- execute tests --------------------
+
+    @Test
+    public void testExecuteIsbn10And13() {
+        String[] isbns = new String[] { ISBN_10_ARGUMENT, ISBN_13_ARGUMENT };
+
+        for (String isbn : isbns) {
+            testCommand = new LookupCmd(isbn);
+            String output = CommandTestUtils.captureExecuteStdOutput(testCommand, testLibrary);
+            assertTrue("Stored ISBN-10 not found for: " + isbn, output.contains("Animal Farm\n"));
+            assertTrue("Stored ISBN-13 not found for: " + isbn, output.contains("Animal Farm 13\n"));
+            assertFalse("Unexpected book found for: " + isbn, output.contains("The Changeling"));
+        }
+    }
+
+    @Test
+    public void testExecuteNotFound() {
+        testCommand = new LookupCmd("0-306-40615-2");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, NOT_FOUND_MESSAGE + "0-306-40615-2");
+    }
+
+    @Test
+    public void testExecuteAfterRemove() {
+        // the first lookup builds the ISBN index, which the removals then update
+        String output = CommandTestUtils.captureExecuteStdOutput(testCommand, testLibrary);
+        assertTrue("Book not found before removal.", output.contains("Animal Farm\n"));
+        new RemoveCmd(TITLE_ARGUMENT + " Animal Farm").execute(testLibrary);
+        new RemoveCmd(TITLE_ARGUMENT + " The Changeling").execute(testLibrary);
+
+        output = CommandTestUtils.captureExecuteStdOutput(testCommand, testLibrary);
+        assertFalse("Removed book found.", output.contains("Animal Farm\n"));
+        assertTrue("Remaining book not found.", output.contains("Animal Farm 13\n"));
+        assertEquals("Unexpected amount of books left in library.", 2, testLibrary.getBookData().size());
+    }
+}
@@ -0,0 +1,30 @@
+import org.junit.Before;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public abstract class LookupCmdTest extends CommandTest {
+
+    protected static final String ISBN_10_ARGUMENT = "0452284244";
+    protected static final String ISBN_13_ARGUMENT = "978-0-452-28424-1";
+
+    protected static final String NOT_FOUND_MESSAGE = "No book found for ISBN: ";
+
+    @Override
+    protected CommandType getCmdType() {
+        return CommandType.LOOKUP;
+    }
+
+    @Before
+    public void setup() {
+        testCommand = new LookupCmd(ISBN_10_ARGUMENT);
+
+        testLibrary = new LibraryData();
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("The Changeling", new String[] { "Zilpha Keatley Snyder" }, 4.17f, "595321801", 228));
+        bookData.add(new BookEntry("Animal Farm", new String[] { "George Orwell" }, 3.91f, "452284244", 122));
+        bookData.add(new BookEntry("Animal Farm 13", new String[] { "George Orwell" }, 3.91f, "9780452284241", 122));
+        bookData.add(new BookEntry("TitleD", new String[] { "AuthorD" }, 1.3f, "ISBND", 300));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+    }
+}
@@ -0,0 +1,148 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapStringDictionaryBasicTest {
+
+    private static final int CHUNK_SIZE = 16 * 1024 * 1024;
+
+    private OffHeapStringDictionary testDictionary;
+
+    @Before
+    public void setup() {
+        testDictionary = new OffHeapStringDictionary();
+    }
+
+    // ------------------------- add and get tests --------------------
+
+    @Test
+    public void testRoundTrip() {
+        String[] values = new String[] { "", "Harry Potter", "\u00C9mile Zola", "\u0414\u0440\u0430\u043A\u043E\u043D",
+            "\u65E5\u672C\u8A9E\u306E\u30BF\u30A4\u30C8\u30EB", "\uD83D\uDCDA books" };
+
+        for (int i = 0; i < values.length; i++) {
+            assertEquals("Unexpected id for new value: " + values[i], i, testDictionary.add(values[i]));
+        }
+        for (int i = 0; i < values.length; i++) {
+            assertEquals("Unexpected value for id: " + i, values[i], testDictionary.get(i));
+            assertEquals("Unexpected id for known value: " + values[i], i, testDictionary.add(values[i]));
+            assertEquals("Value not found: " + values[i], i, testDictionary.find(values[i]));
+        }
+        assertEquals("Unexpected size of dictionary.", values.length, testDictionary.size());
+        assertEquals("Unknown value found.", -1, testDictionary.find("harry potter"));
+    }
+
+    @Test
+    public void testRoundTripManyValues() {
+        int count = 10_000;
+        for (int i = 0; i < count; i++) {
+            testDictionary.add("Title " + i);
+        }
+
+        assertEquals("Unexpected size of dictionary.", count, testDictionary.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals("Unexpected value for id: " + i, "Title " + i, testDictionary.get(i));
+            assertEquals("Value not found: Title " + i, i, testDictionary.find("Title " + i));
+        }
+        assertEquals("Unexpected amount of off-heap bytes.", CHUNK_SIZE, testDictionary.getOffHeapBytes());
+    }
+
+    @Test
+    public void testLargeValues() {
+        String small = "Small";
+        String large = "x".repeat(CHUNK_SIZE);
+        String nearlyFull = "y".repeat(CHUNK_SIZE - 100);
+
+        testDictionary.add(small);
+        testDictionary.add(large);
+        testDictionary.add(nearlyFull);
+
+        assertEquals("Unexpected value for small id.", small, testDictionary.get(0));
+        assertEquals("Unexpected value for large id.", large, testDictionary.get(1));
+        assertEquals("Unexpected value for nearly full id.", nearlyFull, testDictionary.get(2));
+        assertEquals("Large value not found.", 1, testDictionary.find(large));
+        // one chunk for the small value, one sized for the large value and one for the nearly full value
+        assertEquals("Unexpected amount of off-heap bytes.", 3L * CHUNK_SIZE + Integer.BYTES,
+                testDictionary.getOffHeapBytes());
+    }
+
+    // ------------------------- columnar list tests --------------------
+
+    @Test
+    public void testColumnarBookListOffHeap() {
+        ColumnarBookList books = new ColumnarBookList(true);
+        List<BookEntry> expected = new ArrayList<>();
+        expected.add(new BookEntry("TitleA", new String[] { "AuthorA" }, 3.2f, "ISBNA", 500));
+        expected.add(new BookEntry("\u00C9mile", new String[] { "Zola", "\u0414\u0440\u0430\u043A\u043E\u043D" }, 4.3f, "ISBNB", 400));
+        expected.add(new BookEntry("TitleC", new String[] { "AuthorA" }, 1.3f, "ISBNC", 300));
+        books.addAll(expected);
+
+        assertEquals("Unexpected books in off-heap list.", expected, books);
+        assertTrue("Book not found in off-heap list.", books.contains(expected.get(1)));
+
+        books.remove(1);
+        expected.remove(1);
+        assertEquals("Unexpected books after removal.", expected, books);
+        assertFalse("Removed book still found.", books.contains(new BookEntry("\u00C9mile",
+                new String[] { "Zola", "\u0414\u0440\u0430\u043A\u043E\u043D" }, 4.3f, "ISBNB", 400)));
+
+        books.removeRows(new boolean[] { true, false });
+        expected.remove(0);
+        assertEquals("Unexpected books after removing rows.", expected, books);
+
+        books.clear();
+        assertTrue("Off-heap list not empty after clear.", books.isEmpty());
+        books.add(expected.get(0));
+        assertEquals("Unexpected books after adding again.", expected, books);
+    }
+
+    @Test
+    public void testColumnarBookListCompactsDictionaries() {
+        ColumnarBookList books = new ColumnarBookList(true);
+        List<BookEntry> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            books.add(new BookEntry("Title" + i, new String[] { "Author" + i, "Shared" }, 3.2f, "ISBN" + i, 500));
+        }
+        boolean[] remove = new boolean[books.size()];
+        for (int i = 0; i < remove.length; i++) {
+            remove[i] = i != 3 && i != 7;
+        }
+        expected.add(books.get(3));
+        expected.add(books.get(7));
+
+        assertTrue("Author dictionary not rebuilt.", books.removeRows(remove));
+        assertEquals("Unexpected books after compacting dictionaries.", expected, books);
+        assertEquals("Strings of removed rows kept.", 2, ((StringStore) FieldTestUtils.getPrivateField(books,
+                ColumnarBookList.class, "titleDictionary")).size());
+        assertEquals("Removed author still found.", -1, books.findAuthor("Author0"));
+        assertEquals("Unexpected author after compacting dictionaries.", "Author7",
+                books.getAuthorName(books.getAuthorId(1, 0)));
+        assertTrue("Book not found after compacting dictionaries.", books.contains(expected.get(1)));
+
+        assertFalse("Author dictionary rebuilt with all strings in use.", books.removeRows(new boolean[] { true, false }));
+    }
+
+    @Test
+    public void testLibraryDataAuthorsAfterCompactingDictionaries() {
+        LibraryData library = new LibraryData(StorageMode.OFF_HEAP);
+        List<BookEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            entries.add(new BookEntry("Title" + i, new String[] { "Author" + i }, 3.2f, "ISBN" + i, 500));
+        }
+        library.mergeEntries(entries, new CommandOutput(new StringWriter()));
+        assertEquals("Unexpected books of author.", List.of(entries.get(9)), library.booksByAuthor("Author9"));
+
+        library.removeEntries(entries.subList(0, 8));
+
+        assertEquals("Unexpected books of author.", List.of(entries.get(9)), library.booksByAuthor("Author9"));
+        assertEquals("Unexpected books of author.", List.of(entries.get(8)), library.booksByAuthor("Author8"));
+        assertTrue("Books of removed author found.", library.booksByAuthor("Author0").isEmpty());
+    }
+}
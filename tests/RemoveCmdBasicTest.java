@@ -1,9 +1,18 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 public class RemoveCmdBasicTest extends RemoveCmdTest {
 
     @Before
@@ -69,6 +78,198 @@ public class RemoveCmdBasicTest extends RemoveCmdTest {
         CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
     }
 
+    @Test
+    public void testParseArgumentsMultipleTerms() {
+        CommandTestUtils.checkArgumentInput(testCommand, true, TITLES_ARGUMENT + " TitleA | TitleC");
+        CommandTestUtils.checkArgumentInput(testCommand, true, AUTHORS_ARGUMENT + " @" + TERM_FILE_PATH);
+        CommandTestUtils.checkArgumentInput(testCommand, true, AUTHORS_ARGUMENT + " @path/to/missing.txt");
+        CommandTestUtils.checkArgumentInput(testCommand, false, TITLES_ARGUMENT + " | |");
+        CommandTestUtils.checkArgumentInput(testCommand, false, TITLES_ARGUMENT);
+    }
+
+    @Test
+    public void testParseArgumentsSingleTermLiteral() {
+        CommandTestUtils.checkArgumentInput(testCommand, true, TITLE_ARGUMENT + " | |");
+        CommandTestUtils.checkArgumentInput(testCommand, true, AUTHOR_ARGUMENT + " @path/to/missing.txt");
+        CommandTestUtils.checkArgumentInput(testCommand, true, TITLE_ARGUMENT + " Sons and Lovers");
+    }
+
+    @Test
+    public void testExecuteRemoveMultipleTitlesConsoleOut() {
+        testCommand = new RemoveCmd(TITLES_ARGUMENT + " TitleA|" + GENERIC_VALUE_ARGUMENT + "|TitleC");
+
+        String[] expectedConsoleOutput = new String[] {
+            String.format(TITLE_REMOVE_MESSAGE, "TitleA"),
+            String.format(TITLE_NOT_FOUND_MESSAGE, GENERIC_VALUE_ARGUMENT),
+            String.format(TITLE_REMOVE_MESSAGE, "TitleC")
+        };
+        CommandTestUtils.checkExecuteConsoleOutputLines(expectedConsoleOutput, testCommand, testLibrary);
+        assertEquals("Unexpected amount of books left in library.", 1, testLibrary.getBookData().size());
+    }
+
+    @Test
+    public void testExecuteRemoveTermFileConsoleOut() {
+        testCommand = new RemoveCmd(TITLES_ARGUMENT + " @" + TERM_FILE_PATH);
+
+        String[] expectedConsoleOutput = new String[] {
+            String.format(TITLE_REMOVE_MESSAGE, "TitleA"),
+            String.format(TITLE_REMOVE_MESSAGE, "TitleC")
+        };
+        CommandTestUtils.checkExecuteConsoleOutputLines(expectedConsoleOutput, testCommand, testLibrary);
+        assertEquals("Unexpected amount of books left in library.", 1, testLibrary.getBookData().size());
+    }
+
+    @Test
+    public void testExecuteRemoveTermFileNotFoundCount() throws IOException {
+        Path termFile = Files.createTempFile(Paths.get(""), "removeTerms", ".txt");
+        try {
+            Files.writeString(termFile, "TitleA\nsecret line\nTitleC\nanother secret line\n");
+            testCommand = new RemoveCmd(TITLES_ARGUMENT + " @" + termFile.getFileName());
+
+            String[] actualConsoleOutput = CommandTestUtils.captureExecuteStdOutputLines(testCommand, testLibrary);
+            String[] expectedConsoleOutput = new String[] {
+                String.format(TITLE_REMOVE_MESSAGE, "TitleA"),
+                String.format(TITLE_REMOVE_MESSAGE, "TitleC"),
+                String.format(TERMS_NOT_FOUND_MESSAGE, 2, "titles")
+            };
+            assertEquals("Unexpected console output.", List.of(expectedConsoleOutput), List.of(actualConsoleOutput));
+            assertEquals("Unexpected amount of books left in library.", 1, testLibrary.getBookData().size());
+        } finally {
+            Files.delete(termFile);
+        }
+    }
+
+    @Test
+    public void testExecuteRemoveTermFileOutsideWorkingDirectory() throws IOException {
+        Path termFile = Files.createTempFile("removeTerms", ".txt");
+        try {
+            Files.writeString(termFile, "TitleA\n");
+            testCommand = new RemoveCmd(TITLES_ARGUMENT + " @" + termFile.toAbsolutePath());
+
+            StringWriter output = new StringWriter();
+            CommandOutput testOutput = CommandOutput.withErrors(output);
+            assertFalse("Term file outside working directory read.", testCommand.execute(testLibrary, testOutput));
+            testOutput.flush();
+            assertTrue("Error not reported.", output.toString().startsWith("ERROR: Remove terms can only be read"));
+            assertFalse("Term file content reported.", output.toString().contains("TitleA"));
+            assertEquals("Unexpected amount of books left in library.", 3, testLibrary.getBookData().size());
+        } finally {
+            Files.delete(termFile);
+        }
+    }
+
+    @Test
+    public void testExecuteRemoveMissingTermFile() {
+        testCommand = new RemoveCmd(TITLES_ARGUMENT + " @path/to/missing.txt");
+
+        StringWriter output = new StringWriter();
+        CommandOutput testOutput = CommandOutput.withErrors(output);
+        assertFalse("Missing term file read.", testCommand.execute(testLibrary, testOutput));
+        testOutput.flush();
+        assertTrue("Error not reported.", output.toString().startsWith("ERROR: Reading remove terms failed"));
+        assertEquals("Unexpected amount of books left in library.", 3, testLibrary.getBookData().size());
+    }
+
+    @Test
+    public void testExecuteRemoveMultipleAuthorsConsoleOut() {
+        testCommand = new RemoveCmd(AUTHORS_ARGUMENT + " AuthorA | AuthorC");
+
+        String[] expectedConsoleOutput = new String[] {
+            String.format(AUTHOR_REMOVE_MESSAGE, 1, "AuthorA"),
+            String.format(AUTHOR_REMOVE_MESSAGE, 1, "AuthorC")
+        };
+        CommandTestUtils.checkExecuteConsoleOutputLines(expectedConsoleOutput, testCommand, testLibrary);
+        assertEquals("Unexpected amount of books left in library.", 1, testLibrary.getBookData().size());
+    }
+
+    @Test
+    public void testExecuteRemoveSingleTermLiteral() {
+        testLibrary = new LibraryData();
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("TitleA|TitleC", new String[] { "@AuthorA" }, 3.2f, "ISBNA", 500));
+        bookData.add(new BookEntry("TitleA", new String[] { "AuthorA" }, 4.3f, "ISBNB", 400));
+        bookData.add(new BookEntry("TitleC", new String[] { "AuthorC" }, 1.3f, "ISBNC", 300));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+
+        testCommand = new RemoveCmd(TITLE_ARGUMENT + " TitleA|TitleC");
+        String expectedConsoleOutput = String.format(TITLE_REMOVE_MESSAGE, "TitleA|TitleC");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
+        assertEquals("Unexpected amount of books left in library.", 2, testLibrary.getBookData().size());
+
+        bookData = new ArrayList<>(testLibrary.getBookData());
+        bookData.add(new BookEntry("TitleD", new String[] { "@AuthorA" }, 3.2f, "ISBND", 500));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+
+        testCommand = new RemoveCmd(AUTHOR_ARGUMENT + " @AuthorA");
+        expectedConsoleOutput = String.format(AUTHOR_REMOVE_MESSAGE, 1, "@AuthorA");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
+        assertEquals("Unexpected amount of books left in library.", 2, testLibrary.getBookData().size());
+    }
+
+    @Test
+    public void testExecuteRemoveAuthorsSharedBook() {
+        testLibrary = new LibraryData();
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("TitleA", new String[] { "AuthorA", "AuthorB" }, 3.2f, "ISBNA", 500));
+        bookData.add(new BookEntry("TitleB", new String[] { "AuthorB" }, 4.3f, "ISBNB", 400));
+        bookData.add(new BookEntry("TitleC", new String[] { "AuthorC" }, 1.3f, "ISBNC", 300));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+
+        testCommand = new RemoveCmd(AUTHORS_ARGUMENT + " AuthorA | AuthorB | AuthorA");
+        String[] expectedConsoleOutput = new String[] {
+            String.format(AUTHOR_REMOVE_MESSAGE, 1, "AuthorA"),
+            String.format(AUTHOR_REMOVE_MESSAGE, 1, "AuthorB"),
+            String.format(AUTHOR_REMOVE_MESSAGE, 0, "AuthorA")
+        };
+        CommandTestUtils.checkExecuteConsoleOutputLines(expectedConsoleOutput, testCommand, testLibrary);
+        assertEquals("Unexpected amount of books left in library.", 1, testLibrary.getBookData().size());
+    }
+
+    @Test
+    public void testExecuteRemoveAuthorExactMatch() {
+        testCommand = new RemoveCmd(AUTHOR_ARGUMENT + " AuthorA");
+
+        String expectedConsoleOutput = String.format(AUTHOR_REMOVE_MESSAGE, 1, "AuthorA");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
+        assertEquals("Unexpected amount of books left in library.", 2, testLibrary.getBookData().size());
+        assertEquals("Unexpected book left in library.", TITLE_VALUE_ARGUMENT,
+                testLibrary.getBookData().get(0).getTitle());
+    }
+
+    @Test
+    public void testExecuteRemoveAuthorNearMiss() {
+        String[] nearMisses = new String[] { "Author", "authora", "uthorA", "AuthorA AuthorB", "[AuthorA]" };
+
+        for (String nearMiss : nearMisses) {
+            testCommand = new RemoveCmd(AUTHOR_ARGUMENT + " " + nearMiss);
+
+            String expectedConsoleOutput = String.format(AUTHOR_REMOVE_MESSAGE, 0, nearMiss);
+            CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
+            assertEquals("Unexpected amount of books left in library for: " + nearMiss, 3,
+                    testLibrary.getBookData().size());
+        }
+    }
+
+    @Test
+    public void testExecuteRemoveCoAuthor() {
+        testLibrary = new LibraryData();
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("TitleA", new String[] { "AuthorA", "AuthorB" }, 3.2f, "ISBNA", 500));
+        bookData.add(new BookEntry("TitleB", new String[] { "AuthorB" }, 4.3f, "ISBNB", 400));
+        bookData.add(new BookEntry("TitleC", new String[] { "AuthorC", "AuthorA" }, 1.3f, "ISBNC", 300));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+
+        testCommand = new RemoveCmd(AUTHOR_ARGUMENT + " AuthorA");
+        String expectedConsoleOutput = String.format(AUTHOR_REMOVE_MESSAGE, 2, "AuthorA");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
+        assertEquals("Unexpected amount of books left in library.", 1, testLibrary.getBookData().size());
+        assertEquals("Unexpected book left in library.", "TitleB", testLibrary.getBookData().get(0).getTitle());
+
+        testCommand = new RemoveCmd(AUTHOR_ARGUMENT + " AuthorC");
+        expectedConsoleOutput = String.format(AUTHOR_REMOVE_MESSAGE, 0, "AuthorC");
+        CommandTestUtils.checkExecuteConsoleOutput(testCommand, testLibrary, expectedConsoleOutput);
+    }
+
     @Test
     public void testExecuteNotFound() {
         checkEntryNotFound();
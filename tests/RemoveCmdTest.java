@@ -5,10 +5,14 @@ public abstract class RemoveCmdTest extends CommandTest {
     protected static final String TITLE_VALUE_ARGUMENT = "TitleB";
     protected static final String AUTHOR_VALUE_ARGUMENT = "AuthorB";
     protected static final String GENERIC_VALUE_ARGUMENT = "some unknown value";
+    protected static final String TERM_FILE_PATH = "removeTermsTestData01.txt";
+    protected static final String TITLES_ARGUMENT = "TITLES";
+    protected static final String AUTHORS_ARGUMENT = "AUTHORS";
 
     protected static final String TITLE_REMOVE_MESSAGE = "%s: removed successfully.";
     protected static final String TITLE_NOT_FOUND_MESSAGE = "%s: not found.";
     protected static final String AUTHOR_REMOVE_MESSAGE = "%d books removed for author: %s";
+    protected static final String TERMS_NOT_FOUND_MESSAGE = "%d %s not found.";
 
     @Override
     protected CommandType getCmdType() {
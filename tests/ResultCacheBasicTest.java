@@ -0,0 +1,121 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ResultCacheBasicTest {
+
+    private static final long TEST_CAPACITY = 40;
+
+    private ResultCache testCache;
+    private LibraryData testLibrary;
+
+    @Before
+    public void setup() {
+        testCache = new ResultCache(TEST_CAPACITY);
+
+        testLibrary = new LibraryData();
+        List<BookEntry> bookData = new ArrayList<>();
+        bookData.add(new BookEntry("TitleA", new String[] { "AuthorA" }, 3.2f, "ISBNA", 500));
+        bookData.add(new BookEntry("TitleB", new String[] { "AuthorB" }, 4.3f, "ISBNB", 400));
+        bookData.add(new BookEntry("TitleC", new String[] { "AuthorC" }, 1.3f, "ISBNC", 300));
+        FieldTestUtils.setPrivateField(testLibrary, testLibrary.getClass(), "books", bookData);
+    }
+
+    // ------------------------- test helpers ----------------------------
+
+    private String execute(CommandInterpreter interpreter, String inputLine) {
+        StringWriter output = new StringWriter();
+        interpreter.executeCommand(interpreter.parseCommand(inputLine), testLibrary, new CommandOutput(output));
+        return output.toString();
+    }
+
+    private void checkCounters(long expectedHits, long expectedMisses) {
+        assertEquals("Unexpected number of cache hits.", expectedHits, testCache.getHits());
+        assertEquals("Unexpected number of cache misses.", expectedMisses, testCache.getMisses());
+    }
+
+    // ------------------------- get and put tests --------------------
+
+    @Test
+    public void testGetHit() {
+        testCache.put(CommandType.SEARCH, "Title", testLibrary, 1, "output");
+
+        assertEquals("Cached output not returned.", "output", testCache.get(CommandType.SEARCH, "Title", testLibrary, 1));
+        assertNull("Output returned for other argument.", testCache.get(CommandType.SEARCH, "title", testLibrary, 1));
+        assertNull("Output returned for other type.", testCache.get(CommandType.FILTER, "Title", testLibrary, 1));
+        assertNull("Output returned for other library.", testCache.get(CommandType.SEARCH, "Title", new LibraryData(), 1));
+        checkCounters(1, 3);
+    }
+
+    @Test
+    public void testGetAfterVersionChange() {
+        testCache.put(CommandType.LIST, "short", testLibrary, 1, "output");
+
+        assertNull("Output returned for newer version.", testCache.get(CommandType.LIST, "short", testLibrary, 2));
+        checkCounters(0, 1);
+    }
+
+    @Test
+    public void testPutEvictsLeastRecentlyUsed() {
+        testCache.put(CommandType.SEARCH, "a", testLibrary, 1, "0123456789");
+        testCache.put(CommandType.SEARCH, "b", testLibrary, 1, "0123456789");
+        testCache.put(CommandType.SEARCH, "c", testLibrary, 1, "0123456789");
+        testCache.get(CommandType.SEARCH, "a", testLibrary, 1);
+        testCache.put(CommandType.SEARCH, "d", testLibrary, 1, "0123456789");
+        testCache.put(CommandType.SEARCH, "e", testLibrary, 1, "0123456789");
+
+        assertEquals("Unexpected number of entries.", 4, testCache.getEntryCount());
+        assertEquals("Unexpected cache size.", TEST_CAPACITY, testCache.getSize());
+        assertNull("Least recently used entry not evicted.", testCache.get(CommandType.SEARCH, "b", testLibrary, 1));
+        assertEquals("Recently used entry evicted.", "0123456789", testCache.get(CommandType.SEARCH, "a", testLibrary, 1));
+    }
+
+    @Test
+    public void testPutTooLarge() {
+        testCache.put(CommandType.GROUP, "title", testLibrary, 1, "small");
+        testCache.put(CommandType.GROUP, "title", testLibrary, 1, "more than a quarter");
+
+        assertEquals("Unexpected number of entries.", 0, testCache.getEntryCount());
+        assertEquals("Unexpected cache size.", 0, testCache.getSize());
+    }
+
+    // ------------------------- interpreter tests --------------------
+
+    @Test
+    public void testInterpreterHitsAndInvalidation() {
+        testCache = new ResultCache();
+        CommandInterpreter interpreter = new CommandInterpreter(testCache);
+
+        String output = execute(interpreter, "SEARCH Title");
+        assertEquals("Cached output differs.", output, execute(interpreter, "SEARCH Title"));
+        checkCounters(1, 1);
+
+        execute(interpreter, "REMOVE TITLE TitleB");
+        String outputAfterRemove = execute(interpreter, "SEARCH Title");
+        checkCounters(1, 2);
+        assertEquals("Output not updated after removal.", "TitleA\nTitleC\n", outputAfterRemove.replace("\r", ""));
+    }
+
+    @Test
+    public void testInterpreterCanonicalArguments() {
+        testCache = new ResultCache();
+        CommandInterpreter interpreter = new CommandInterpreter(testCache);
+
+        String output = execute(interpreter, "GROUP title");
+        assertEquals("Cached output differs.", output, execute(interpreter, "GROUP TITLE"));
+        execute(interpreter, "TOP 2 rating");
+        execute(interpreter, "TOP 2 RATING desc");
+        execute(interpreter, "LIST short");
+        execute(interpreter, "LIST  SHORT ");
+        checkCounters(3, 3);
+
+        execute(interpreter, "TOP 2 rating asc");
+        checkCounters(3, 4);
+    }
+}
@@ -0,0 +1,124 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SortedIntIndexBasicTest {
+
+    private SortedIntIndex testIndex;
+
+    @Before
+    public void setup() {
+        testIndex = new SortedIntIndex(new int[] { 5, 3, 5, 1 });
+    }
+
+    private void checkSelect(int min, int max, int... expectedPositions) {
+        BitSet selected = new BitSet();
+        testIndex.select(min, max, selected);
+
+        BitSet expected = new BitSet();
+        for (int position : expectedPositions) {
+            expected.set(position);
+        }
+        assertEquals("Unexpected positions selected for range " + min + " to " + max + ".", expected, selected);
+    }
+
+    // ------------------------- select tests --------------------
+
+    @Test
+    public void testSelectBounds() {
+        checkSelect(3, 5, 0, 1, 2);
+        checkSelect(4, 4);
+        checkSelect(5, 3);
+        checkSelect(Integer.MIN_VALUE, 1, 3);
+        checkSelect(5, Integer.MAX_VALUE, 0, 2);
+    }
+
+    // ------------------------- update tests --------------------
+
+    @Test
+    public void testAppend() {
+        testIndex.append(new int[] { 2, 5, 0 }, 4);
+
+        assertEquals("Unexpected size of index.", 7, testIndex.size());
+        checkSelect(0, 2, 3, 4, 6);
+        checkSelect(5, 5, 0, 2, 5);
+    }
+
+    @Test
+    public void testRemap() {
+        testIndex.remap(new int[] { 0, -1, -1, 1 });
+
+        assertEquals("Unexpected size of index.", 2, testIndex.size());
+        checkSelect(Integer.MIN_VALUE, Integer.MAX_VALUE, 0, 1);
+        checkSelect(3, 3);
+        testIndex.append(new int[] { 3 }, 2);
+        checkSelect(3, 5, 0, 2);
+    }
+
+    @Test
+    public void testSingleAppendsMergeTail() {
+        Random random = new Random(11);
+        int[] keys = new int[4000];
+        testIndex = new SortedIntIndex(new int[0]);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(100);
+            testIndex.append(new int[] { keys[i] }, i);
+        }
+
+        int tailSize = (Integer) FieldTestUtils.getPrivateField(testIndex, SortedIntIndex.class, "tailSize");
+        assertTrue("Tail not merged into main entries.", tailSize <= 64);
+        assertEquals("Unexpected size of index.", keys.length, testIndex.size());
+        SortedIntIndex rebuilt = new SortedIntIndex(keys);
+        for (int min = 0; min < 100; min += 7) {
+            BitSet expected = new BitSet();
+            rebuilt.select(min, min + 10, expected);
+            BitSet selected = new BitSet();
+            testIndex.select(min, min + 10, selected);
+            assertEquals("Appended index differs from rebuilt index for range from " + min + ".", expected, selected);
+        }
+    }
+
+    @Test
+    public void testUpdatesMatchRebuild() {
+        Random random = new Random(7);
+        int[] keys = new int[0];
+        testIndex = new SortedIntIndex(keys);
+        for (int round = 0; round < 20; round++) {
+            int[] appended = new int[random.nextInt(50)];
+            for (int i = 0; i < appended.length; i++) {
+                appended[i] = random.nextInt(20);
+            }
+            testIndex.append(appended, keys.length);
+            int[] grown = Arrays.copyOf(keys, keys.length + appended.length);
+            System.arraycopy(appended, 0, grown, keys.length, appended.length);
+
+            int[] newPositions = new int[grown.length];
+            int kept = 0;
+            for (int i = 0; i < grown.length; i++) {
+                newPositions[i] = random.nextInt(4) == 0 ? -1 : kept++;
+            }
+            testIndex.remap(newPositions);
+            keys = new int[kept];
+            for (int i = 0; i < grown.length; i++) {
+                if (newPositions[i] >= 0) {
+                    keys[newPositions[i]] = grown[i];
+                }
+            }
+
+            SortedIntIndex rebuilt = new SortedIntIndex(keys);
+            for (int min = 0; min < 20; min += 3) {
+                BitSet expected = new BitSet();
+                rebuilt.select(min, min + 4, expected);
+                BitSet selected = new BitSet();
+                testIndex.select(min, min + 4, selected);
+                assertEquals("Updated index differs from rebuilt index in round " + round + ".", expected, selected);
+            }
+        }
+    }
+}
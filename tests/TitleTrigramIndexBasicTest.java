@@ -0,0 +1,80 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class TitleTrigramIndexBasicTest {
+
+    private List<String> titles;
+    private TitleTrigramIndex testIndex;
+
+    @Before
+    public void setup() {
+        titles = new ArrayList<>();
+        titles.add("The Castle in the Sky");
+        titles.add("Harry");
+        titles.add("Edinburgh Castle");
+        titles.add("Sky Castle Tales");
+
+        testIndex = new TitleTrigramIndex();
+        for (int row = 0; row < titles.size(); row++) {
+            testIndex.add(row, titles.get(row));
+        }
+    }
+
+    private void checkSearch(String term, int... expectedRows) {
+        assertArrayEquals("Unexpected rows found for search term: " + term, expectedRows,
+                testIndex.search(term, titles::get, titles.size()));
+    }
+
+    // ------------------------- search tests --------------------
+
+    @Test
+    public void testSearchShortTerms() {
+        checkSearch("", 0, 1, 2, 3);
+        checkSearch("y", 0, 1, 3);
+        checkSearch("Ha", 1);
+        checkSearch("zz");
+    }
+
+    @Test
+    public void testSearchIgnoresCase() {
+        checkSearch("CASTLE", 0, 2, 3);
+        checkSearch("sky", 0, 3);
+        checkSearch("hArRy", 1);
+    }
+
+    @Test
+    public void testSearchTrigramsWithoutSubstringMatch() {
+        // every trigram of the term occurs in "The Castle in the Sky", the term itself does not
+        checkSearch("castle sky");
+        checkSearch("Unknown");
+    }
+
+    // ------------------------- remap tests --------------------
+
+    @Test
+    public void testRemapRemovedRows() {
+        titles.remove(0);
+        testIndex.remap(new int[] { -1, 0, 1, 2 });
+
+        checkSearch("castle", 1, 2);
+        checkSearch("in the");
+        checkSearch("Sky", 2);
+        checkSearch("y", 0, 2);
+    }
+
+    @Test
+    public void testRemapAllRows() {
+        titles.clear();
+        testIndex.remap(new int[] { -1, -1, -1, -1 });
+
+        checkSearch("castle");
+        testIndex.add(0, "Castle Rock");
+        titles.add("Castle Rock");
+        checkSearch("castle", 0);
+    }
+}
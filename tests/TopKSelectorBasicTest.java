@@ -0,0 +1,86 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TopKSelectorBasicTest {
+
+    private List<BookEntry> books;
+
+    @Before
+    public void setup() {
+        books = new ArrayList<>();
+        books.add(new BookEntry("TitleA", new String[] { "AuthorA" }, 3.2f, "ISBNA", 500));
+        books.add(new BookEntry("TitleB", new String[] { "AuthorB" }, 4.3f, "452284244", 400));
+        books.add(new BookEntry("TitleC", new String[] { "AuthorC" }, 1.3f, "9780306406157", 300));
+        books.add(new BookEntry("TitleD", new String[] { "AuthorD" }, 4.3f, "9780306406157", 300));
+        books.add(new BookEntry("TitleE", new String[] { "AuthorE" }, 4.3f, "595321801", 300));
+    }
+
+    // ------------------------- test helpers ----------------------------
+
+    private void checkTitles(List<BookEntry> selected, String... expectedTitles) {
+        List<String> titles = new ArrayList<>();
+        for (BookEntry book : selected) {
+            titles.add(book.getTitle());
+        }
+        assertEquals("Unexpected books selected.", List.of(expectedTitles), titles);
+    }
+
+    // ------------------------- select tests --------------------
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSelectZero() {
+        new TopKSelector(books, true, true).select(0);
+    }
+
+    @Test
+    public void testSelectMoreThanAvailable() {
+        checkTitles(new TopKSelector(books, false, false).select(10), "TitleC", "TitleD", "TitleE", "TitleB", "TitleA");
+        checkTitles(new TopKSelector(new ArrayList<>(), true, true).select(3));
+    }
+
+    @Test
+    public void testSelectTieOrder() {
+        // equal ratings are ordered by ISBN-13, with equal ISBNs by position
+        checkTitles(new TopKSelector(books, true, true).select(3), "TitleD", "TitleB", "TitleE");
+        checkTitles(new TopKSelector(books, true, false).select(2), "TitleC", "TitleA");
+        // invalid ISBNs are ordered last
+        checkTitles(new TopKSelector(books, false, false).select(3), "TitleC", "TitleD", "TitleE");
+        books.add(new BookEntry("TitleF", new String[] { "AuthorF" }, 1.3f, "ISBNF", 300));
+        books.add(new BookEntry("TitleG", new String[] { "AuthorG" }, 1.3f, "ISBNB", 300));
+        checkTitles(new TopKSelector(books, true, false).select(3), "TitleC", "TitleG", "TitleF");
+    }
+
+    @Test
+    public void testSelectMatchesSort() {
+        // large enough to be scanned in parallel
+        Random random = new Random(11);
+        books.clear();
+        for (int i = 0; i < 100_000; i++) {
+            String isbn = random.nextInt(10) == 0 ? "ISBN" + random.nextInt(100) : "978030640615" + random.nextInt(10);
+            books.add(new BookEntry("Title" + i, new String[] { "Author" }, random.nextInt(50) / 10.0f, isbn,
+                    random.nextInt(1000)));
+        }
+
+        Comparator<BookEntry> byIsbn = Comparator.comparingLong(book -> {
+            long key = Isbn.parseStored(book.getISBN());
+            return key == Isbn.INVALID ? Long.MAX_VALUE : key;
+        });
+        Comparator<BookEntry> order = Comparator.comparingDouble((BookEntry book) -> -book.getRating())
+                .thenComparing(byIsbn).thenComparing(BookEntry::getISBN);
+        List<BookEntry> sorted = new ArrayList<>(books);
+        // the sort is stable, so equal entries keep their positions
+        sorted.sort(order);
+
+        for (int k : new int[] { 1, 7, 1000 }) {
+            assertEquals("Unexpected books selected for k = " + k + ".", sorted.subList(0, k),
+                    new TopKSelector(books, true, true).select(k));
+        }
+    }
+}